@@ -35,7 +35,10 @@ open class MinifyPlugin : Plugin<Project> {
         val keepPatterns = mapOf(
             "fastutil" to setOf(
                 "it.unimi.dsi.fastutil.ints.IntOpenHashSet",
-                "it.unimi.dsi.fastutil.ints.IntSets"
+                "it.unimi.dsi.fastutil.ints.IntSets",
+                "it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap",
+                "it.unimi.dsi.fastutil.longs.LongOpenHashSet",
+                "it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap"
             )
         )
 
@@ -53,7 +53,7 @@ public class DefaultHashingClassLoaderFactory extends DefaultClassLoaderFactory
         HashCode hashCode = implementationHash != null
             ? implementationHash
             : calculateClassLoaderHash(classPath);
-        ClassLoader classLoader = super.doCreateClassLoader(parent, classPath);
+        ClassLoader classLoader = new PackageIndexingURLClassLoader(parent, classPath);
         hashCodes.put(classLoader, hashCode);
         return classLoader;
     }
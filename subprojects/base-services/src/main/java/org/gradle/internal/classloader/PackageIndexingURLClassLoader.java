@@ -0,0 +1,148 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.classloader;
+
+import org.gradle.internal.classpath.ClassPath;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * A {@link VisitableURLClassLoader} that indexes the packages contained in the jars of its classpath the first time it is asked for a class,
+ * so that lookups for classes it does not contain fail without searching through every jar. Such lookups are frequent, as
+ * Groovy and the Gradle DSL probe for classes speculatively.
+ *
+ * The index is not used when the classpath contains something other than a jar, or a jar that refers to other jars through its manifest.
+ * It is also no longer used once a URL has been added to this class loader.
+ */
+public class PackageIndexingURLClassLoader extends VisitableURLClassLoader {
+    private static final String VERSIONED_ENTRY_PREFIX = "META-INF/versions/";
+
+    static {
+        try {
+            //noinspection Since15
+            ClassLoader.registerAsParallelCapable();
+        } catch (NoSuchMethodError ignore) {
+            // Not supported on Java 6
+        }
+    }
+
+    private final List<File> classPath;
+    private final Object indexLock = new Object();
+    // Publishes the packages, which are only written before this is set
+    private volatile boolean indexed;
+    private Set<String> packages;
+
+    public PackageIndexingURLClassLoader(ClassLoader parent, ClassPath classPath) {
+        super(parent, classPath);
+        this.classPath = classPath.getAsFiles();
+    }
+
+    @Override
+    protected void addURL(URL url) {
+        // Turn the index off before the URL becomes visible, so that the classes it contains are never hidden by the index
+        synchronized (indexLock) {
+            packages = null;
+            indexed = true;
+        }
+        super.addURL(url);
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        Set<String> packages = getPackages();
+        if (packages != null && !packages.contains(packageOf(name))) {
+            throw new ClassNotFoundException(name);
+        }
+        return super.findClass(name);
+    }
+
+    private Set<String> getPackages() {
+        if (!indexed) {
+            synchronized (indexLock) {
+                if (!indexed) {
+                    packages = indexPackages(classPath);
+                    indexed = true;
+                }
+            }
+        }
+        return packages;
+    }
+
+    private static String packageOf(String className) {
+        int index = className.lastIndexOf('.');
+        return index < 0 ? "" : className.substring(0, index).replace('.', '/');
+    }
+
+    /**
+     * Returns the packages that contain classes, or null when the classpath cannot be indexed.
+     */
+    private static Set<String> indexPackages(List<File> classPath) {
+        Set<String> packages = new HashSet<String>();
+        for (File file : classPath) {
+            if (!file.isFile()) {
+                return null;
+            }
+            try {
+                if (!indexJar(file, packages)) {
+                    return null;
+                }
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        return packages;
+    }
+
+    private static boolean indexJar(File file, Set<String> packages) throws IOException {
+        JarFile jarFile = new JarFile(file);
+        try {
+            Manifest manifest = jarFile.getManifest();
+            if (manifest != null && manifest.getMainAttributes().getValue(Attributes.Name.CLASS_PATH) != null) {
+                return false;
+            }
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                if (!name.endsWith(".class")) {
+                    continue;
+                }
+                if (name.startsWith(VERSIONED_ENTRY_PREFIX)) {
+                    int versionEnd = name.indexOf('/', VERSIONED_ENTRY_PREFIX.length());
+                    if (versionEnd < 0) {
+                        continue;
+                    }
+                    name = name.substring(versionEnd + 1);
+                }
+                int index = name.lastIndexOf('/');
+                packages.add(index < 0 ? "" : name.substring(0, index));
+            }
+            return true;
+        } finally {
+            jarFile.close();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.classloader
+
+import org.gradle.internal.classpath.DefaultClassPath
+import org.gradle.test.fixtures.file.TestFile
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+import java.util.jar.Attributes
+import java.util.jar.JarEntry
+import java.util.jar.JarOutputStream
+import java.util.jar.Manifest
+
+class PackageIndexingURLClassLoaderTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+
+    def parent = new ClassLoader(null) {}
+    def className = ClassLoaderSpec.name
+
+    def "loads classes from indexed jars"() {
+        def jar = jarWith(className, null)
+        def cl = new PackageIndexingURLClassLoader(parent, DefaultClassPath.of(jar))
+
+        expect:
+        cl.loadClass(className).classLoader == cl
+
+        when:
+        cl.loadClass("org.gradle.unknown.Thing")
+
+        then:
+        thrown(ClassNotFoundException)
+    }
+
+    def "loads classes from jars referenced by manifest class path"() {
+        def lib = jarWith(className, null, "lib.jar")
+        def jar = jarWith(null, lib.name)
+        def cl = new PackageIndexingURLClassLoader(parent, DefaultClassPath.of(jar))
+
+        expect:
+        cl.loadClass(className).classLoader == cl
+    }
+
+    def "loads classes from directories"() {
+        def dir = tmpDir.createDir("classes")
+        dir.file(className.replace('.', '/') + ".class").bytes = classBytes(className)
+        def cl = new PackageIndexingURLClassLoader(parent, DefaultClassPath.of(dir))
+
+        expect:
+        cl.loadClass(className).classLoader == cl
+    }
+
+    def "loads classes from urls added after the index was built"() {
+        def jar = jarWith(null, null)
+        def cl = new PackageIndexingURLClassLoader(parent, DefaultClassPath.of(jar))
+
+        when:
+        cl.loadClass(className)
+
+        then:
+        thrown(ClassNotFoundException)
+
+        when:
+        def addURL = URLClassLoader.getDeclaredMethod("addURL", URL)
+        addURL.accessible = true
+        addURL.invoke(cl, jarWith(className, null, "added.jar").toURI().toURL())
+
+        then:
+        cl.loadClass(className).classLoader == cl
+    }
+
+    private TestFile jarWith(String className, String manifestClassPath, String name = "test.jar") {
+        def jar = tmpDir.file(name)
+        def manifest = new Manifest()
+        manifest.mainAttributes.put(Attributes.Name.MANIFEST_VERSION, "1.0")
+        if (manifestClassPath != null) {
+            manifest.mainAttributes.put(Attributes.Name.CLASS_PATH, manifestClassPath)
+        }
+        def out = new JarOutputStream(jar.newOutputStream(), manifest)
+        try {
+            if (className != null) {
+                out.putNextEntry(new JarEntry(className.replace('.', '/') + ".class"))
+                out.write(classBytes(className))
+            }
+        } finally {
+            out.close()
+        }
+        return jar
+    }
+
+    private byte[] classBytes(String className) {
+        return getClass().classLoader.getResource(className.replace('.', '/') + ".class").bytes
+    }
+}
@@ -538,6 +538,14 @@ public class DefaultNamedDomainObjectCollection<T> extends DefaultDomainObjectCo
 
         @Override
         public void removePending(ProviderInternal<? extends T> provider) {
+            // Pending providers are always indexed by their name, so avoid scanning all the pending providers when possible
+            if (provider instanceof Named) {
+                String name = ((Named) provider).getName();
+                if (pendingMap.get(name) == provider) {
+                    pendingMap.remove(name);
+                }
+                return;
+            }
             pendingMap.values().remove(provider);
         }
 
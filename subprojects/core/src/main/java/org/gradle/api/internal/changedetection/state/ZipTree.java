@@ -22,9 +22,18 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.Enumeration;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
+/**
+ * Visits the entries of a zip file.
+ *
+ * The entries are listed from the central directory of the zip file, and an entry is only inflated when the visitor actually reads its contents.
+ * Zip files without a readable central directory are streamed instead.
+ */
 public class ZipTree implements ResourceTree {
     private final FileSnapshot zipFile;
 
@@ -35,6 +44,33 @@ public class ZipTree implements ResourceTree {
     @Override
     public void visit(ResourceWithContentsVisitor visitor) throws IOException {
         String zipFilePath = zipFile.getPath();
+        ZipFile zip;
+        try {
+            zip = new ZipFile(zipFilePath);
+        } catch (ZipException e) {
+            visitStreaming(zipFilePath, visitor);
+            return;
+        }
+        try {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry zipEntry = entries.nextElement();
+                if (zipEntry.isDirectory()) {
+                    continue;
+                }
+                InputStream entryInput = new LazyZipEntryInputStream(zip, zipEntry);
+                try {
+                    visitor.visitZipFileEntry(zipEntry, entryInput);
+                } finally {
+                    entryInput.close();
+                }
+            }
+        } finally {
+            IOUtils.closeQuietly(zip);
+        }
+    }
+
+    private static void visitStreaming(String zipFilePath, ResourceWithContentsVisitor visitor) throws IOException {
         InputStream fileInputStream = null;
         try {
             fileInputStream = Files.newInputStream(Paths.get(zipFilePath));
@@ -51,4 +87,52 @@ public class ZipTree implements ResourceTree {
             IOUtils.closeQuietly(fileInputStream);
         }
     }
+
+    /**
+     * Opens the entry on first access, so that entries the visitor ignores are never inflated.
+     */
+    private static class LazyZipEntryInputStream extends InputStream {
+        private final ZipFile zip;
+        private final ZipEntry zipEntry;
+        private InputStream delegate;
+
+        LazyZipEntryInputStream(ZipFile zip, ZipEntry zipEntry) {
+            this.zip = zip;
+            this.zipEntry = zipEntry;
+        }
+
+        private InputStream getDelegate() throws IOException {
+            if (delegate == null) {
+                delegate = zip.getInputStream(zipEntry);
+            }
+            return delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return getDelegate().read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return getDelegate().read(b, off, len);
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            return getDelegate().skip(n);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return getDelegate().available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (delegate != null) {
+                delegate.close();
+            }
+        }
+    }
 }
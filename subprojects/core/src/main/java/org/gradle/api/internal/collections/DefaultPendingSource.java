@@ -17,13 +17,16 @@
 package org.gradle.api.internal.collections;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import org.gradle.api.Action;
 import org.gradle.api.internal.provider.ProviderInternal;
 
 import java.util.List;
+import java.util.Set;
 
 public class DefaultPendingSource<T> implements PendingSource<T> {
-    private final List<ProviderInternal<? extends T>> pending = Lists.newArrayList();
+    // Use a linked set so that removing a realized provider does not require scanning all the pending providers
+    private final Set<ProviderInternal<? extends T>> pending = Sets.newLinkedHashSet();
     private Action<ProviderInternal<? extends T>> flushAction;
 
     @Override
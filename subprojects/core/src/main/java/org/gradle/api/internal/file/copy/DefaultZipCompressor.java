@@ -24,6 +24,12 @@ import java.io.File;
 import java.io.IOException;
 
 public class DefaultZipCompressor implements ZipCompressor {
+    /**
+     * The size of the buffer that compressed entry content is written from.
+     * Ant's default of 512 bytes results in a write to the archive file for every 512 bytes of compressed content.
+     */
+    static final int DEFLATED_OUTPUT_BUFFER_SIZE = 64 * 1024;
+
     private final int entryCompressionMethod;
     private final Zip64Mode zip64Mode;
 
@@ -33,7 +39,7 @@ public class DefaultZipCompressor implements ZipCompressor {
     }
 
     public ZipOutputStream createArchiveOutputStream(File destination) throws IOException {
-        ZipOutputStream outStream = new ZipOutputStream(destination);
+        ZipOutputStream outStream = new LargeBufferZipOutputStream(destination);
         try {
             outStream.setUseZip64(zip64Mode);
             outStream.setMethod(entryCompressionMethod);
@@ -45,4 +51,14 @@ public class DefaultZipCompressor implements ZipCompressor {
         }
     }
 
+    /**
+     * Deflates entries into a larger buffer. The size of the buffer does not affect the content of the archive.
+     */
+    private static class LargeBufferZipOutputStream extends ZipOutputStream {
+        LargeBufferZipOutputStream(File file) throws IOException {
+            super(file);
+            buf = new byte[DEFLATED_OUTPUT_BUFFER_SIZE];
+        }
+    }
+
 }
@@ -22,10 +22,13 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import org.gradle.BuildListener;
 import org.gradle.BuildResult;
+import org.gradle.api.Project;
 import org.gradle.api.Task;
 import org.gradle.api.internal.ExceptionAnalyser;
 import org.gradle.api.internal.GradleInternal;
 import org.gradle.api.internal.SettingsInternal;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
 import org.gradle.composite.internal.IncludedBuildControllers;
 import org.gradle.configuration.BuildConfigurer;
 import org.gradle.execution.BuildConfigurationActionExecuter;
@@ -46,6 +49,8 @@ import java.util.Set;
 
 public class DefaultGradleLauncher implements GradleLauncher {
 
+    private static final Logger LOGGER = Logging.getLogger(DefaultGradleLauncher.class);
+
     private static final ConfigureBuildBuildOperationType.Result CONFIGURE_BUILD_RESULT = new ConfigureBuildBuildOperationType.Result() {
     };
     private static final NotifyProjectsEvaluatedBuildOperationType.Result PROJECTS_EVALUATED_RESULT = new NotifyProjectsEvaluatedBuildOperationType.Result() {
@@ -296,6 +301,11 @@ public class DefaultGradleLauncher implements GradleLauncher {
             final TaskExecutionGraphInternal taskGraph = gradle.getTaskGraph();
             taskGraph.populate();
 
+            if (isConfigureOnDemand()) {
+                // Populating the task graph can configure further projects
+                logConfiguredProjects();
+            }
+
             includedBuildControllers.populateTaskGraphs();
 
             buildOperationContext.setResult(new CalculateTaskGraphBuildOperationType.Result() {
@@ -378,4 +388,18 @@ public class DefaultGradleLauncher implements GradleLauncher {
         buildOperationExecutor.run(new NotifyProjectsEvaluatedListeners());
     }
 
+    private void logConfiguredProjects() {
+        if (!LOGGER.isInfoEnabled()) {
+            return;
+        }
+        int configured = 0;
+        Set<Project> projects = gradle.getRootProject().getAllprojects();
+        for (Project project : projects) {
+            if (project.getState().getExecuted()) {
+                configured++;
+            }
+        }
+        LOGGER.info("Configuration on demand configured {} of {} projects in {}.", configured, projects.size(), gradle.contextualize("build"));
+    }
+
 }
@@ -24,6 +24,7 @@ import groovy.lang.MetaMethod;
 import groovy.lang.MetaProperty;
 import groovy.lang.MissingMethodException;
 import groovy.lang.MissingPropertyException;
+import org.codehaus.groovy.runtime.GroovyCategorySupport;
 import org.codehaus.groovy.runtime.InvokerInvocationException;
 import org.codehaus.groovy.runtime.MetaClassHelper;
 import org.codehaus.groovy.runtime.metaclass.MultipleSetterProperty;
@@ -57,6 +58,7 @@ public class BeanDynamicObject extends AbstractDynamicObject {
     private static final Field MISSING_PROPERTY_GET_METHOD;
     private static final Field MISSING_PROPERTY_SET_METHOD;
     private static final Field MISSING_METHOD_METHOD;
+    private static final MetaClassLookupCache LOOKUP_CACHE = new MetaClassLookupCache();
     private final Object bean;
     private final boolean includeProperties;
     private final MetaClassAdapter delegate;
@@ -192,6 +194,9 @@ public class BeanDynamicObject extends AbstractDynamicObject {
     }
 
     private class MetaClassAdapter {
+        // Holds on to the cached lookups for the meta-class of the bean, as the cache only references them weakly
+        private volatile MetaClassLookupCache.Lookups lookups;
+
         protected String getDisplayName() {
             return BeanDynamicObject.this.getDisplayName();
         }
@@ -327,17 +332,28 @@ public class BeanDynamicObject extends AbstractDynamicObject {
         /*
          * MetaClass.getMetaProperty(name) is very expensive when the property is not known.
          * Instead, we reach into the meta class to call a much more efficient lookup method.
-         * Since we do this in a hot code path, we also reuse the argument array used for the
-         * reflective call to save memory.
+         * Since we do this in a hot code path, the result is also cached per meta class where possible.
          */
         @Nullable
         protected MetaProperty lookupProperty(MetaClass metaClass, String name) {
             if (metaClass instanceof MetaClassImpl) {
+                MetaClassLookupCache.Lookups lookups = lookupsFor(metaClass);
+                if (lookups != null) {
+                    Object cached = lookups.getProperty(name);
+                    if (cached != null) {
+                        return MetaClassLookupCache.isMissing(cached) ? null : (MetaProperty) cached;
+                    }
+                }
+                MetaProperty property;
                 try {
-                    return (MetaProperty) META_PROP_METHOD.invoke(metaClass, name, false);
+                    property = (MetaProperty) META_PROP_METHOD.invoke(metaClass, name, false);
                 } catch (Throwable e) {
                     throw UncheckedException.throwAsUncheckedException(e);
                 }
+                if (lookups != null) {
+                    lookups.putProperty(name, property);
+                }
+                return property;
             }
 
             // Some other meta-class implementation - fall back to the public API
@@ -506,9 +522,36 @@ public class BeanDynamicObject extends AbstractDynamicObject {
             return invokeOpaqueMethod(metaClass, name, arguments);
         }
 
+        /*
+         * MetaClass.pickMethod() selects the best matching method from scratch on each call, so cache the result per meta class where possible.
+         */
         @Nullable
         protected MetaMethod lookupMethod(MetaClass metaClass, String name, Class[] arguments) {
-            return metaClass.pickMethod(name, arguments);
+            MetaClassLookupCache.Lookups lookups = lookupsFor(metaClass);
+            if (lookups == null) {
+                return metaClass.pickMethod(name, arguments);
+            }
+            Object cached = lookups.getMethod(name, arguments);
+            if (cached != null) {
+                return MetaClassLookupCache.isMissing(cached) ? null : (MetaMethod) cached;
+            }
+            MetaMethod method = metaClass.pickMethod(name, arguments);
+            lookups.putMethod(name, arguments, method);
+            return method;
+        }
+
+        @Nullable
+        private MetaClassLookupCache.Lookups lookupsFor(MetaClass metaClass) {
+            if (GroovyCategorySupport.hasCategoryInCurrentThread()) {
+                // Category methods and properties are only visible to the current thread, so do not cache or use the cached lookups
+                return null;
+            }
+            MetaClassLookupCache.Lookups current = lookups;
+            if (current == null || current.getMetaClass() != metaClass) {
+                current = LOOKUP_CACHE.forMetaClass(metaClass);
+                lookups = current;
+            }
+            return current;
         }
 
         protected DynamicInvokeResult invokeOpaqueMethod(MetaClass metaClass, String name, Object[] arguments) {
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.internal.metaobject;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import groovy.lang.MetaClass;
+import groovy.lang.MetaClassImpl;
+import groovy.lang.MetaMethod;
+import groovy.lang.MetaProperty;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers the properties and methods found by looking them up on a meta-class, including the lookups that found nothing.
+ *
+ * <p>Only plain {@link MetaClassImpl} instances are cached. These no longer change once initialized, whereas other implementations,
+ * such as {@link groovy.lang.ExpandoMetaClass}, can have properties and methods added at any time. Callers must also not use the cached lookups
+ * while a Groovy category is in use by the current thread, as the methods and properties of the category are visible to that thread only.</p>
+ *
+ * <p>The cached lookups reference the meta-class and the methods and properties of the bean type, and so indirectly the bean type's
+ * class loader. They are only weakly referenced by this cache, so callers need to hold on to the lookups for as long as they are using them.
+ * This way, the lookups for a type are shared while instances of that type are in use, but do not prevent the class loader of a build script
+ * from being collected once the build has finished with it.</p>
+ */
+class MetaClassLookupCache {
+    private static final Object MISSING = new Object();
+
+    private final LoadingCache<MetaClass, Lookups> lookups = CacheBuilder.newBuilder().weakKeys().weakValues().build(new CacheLoader<MetaClass, Lookups>() {
+        @Override
+        public Lookups load(MetaClass metaClass) {
+            return new Lookups(metaClass);
+        }
+    });
+
+    /**
+     * Returns the cached lookups for the given meta-class, or null when lookups on the meta-class should not be cached.
+     */
+    @Nullable
+    Lookups forMetaClass(MetaClass metaClass) {
+        if (metaClass.getClass() != MetaClassImpl.class) {
+            return null;
+        }
+        return lookups.getUnchecked(metaClass);
+    }
+
+    static class Lookups {
+        private final MetaClass metaClass;
+        private final ConcurrentMap<String, Object> properties = new ConcurrentHashMap<String, Object>();
+        private final ConcurrentMap<MethodKey, Object> methods = new ConcurrentHashMap<MethodKey, Object>();
+
+        private Lookups(MetaClass metaClass) {
+            this.metaClass = metaClass;
+        }
+
+        MetaClass getMetaClass() {
+            return metaClass;
+        }
+
+        /**
+         * Returns the cached property, {@link #MISSING} when the property is known not to exist, or null when the property has not been looked up yet.
+         */
+        @Nullable
+        Object getProperty(String name) {
+            return properties.get(name);
+        }
+
+        void putProperty(String name, @Nullable MetaProperty property) {
+            properties.putIfAbsent(name, property == null ? MISSING : property);
+        }
+
+        /**
+         * Returns the cached method, {@link #MISSING} when no method matches, or null when the method has not been looked up yet.
+         */
+        @Nullable
+        Object getMethod(String name, Class[] argumentTypes) {
+            return methods.get(new MethodKey(name, argumentTypes));
+        }
+
+        void putMethod(String name, Class[] argumentTypes, @Nullable MetaMethod method) {
+            methods.putIfAbsent(new MethodKey(name, argumentTypes), method == null ? MISSING : method);
+        }
+    }
+
+    static boolean isMissing(Object cached) {
+        return cached == MISSING;
+    }
+
+    private static class MethodKey {
+        private final String name;
+        private final Class[] argumentTypes;
+        private final int hashCode;
+
+        MethodKey(String name, Class[] argumentTypes) {
+            this.name = name;
+            this.argumentTypes = argumentTypes;
+            this.hashCode = 31 * name.hashCode() + Arrays.hashCode(argumentTypes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            MethodKey other = (MethodKey) o;
+            return hashCode == other.hashCode && name.equals(other.name) && Arrays.equals(argumentTypes, other.argumentTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
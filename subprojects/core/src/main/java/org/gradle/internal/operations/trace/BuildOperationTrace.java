@@ -386,13 +386,11 @@ public class BuildOperationTrace implements Stoppable {
         @Override
         public void buildFinished(@SuppressWarnings("NullableProblems") BuildResult result) {
             stopBuffering();
+            flush();
         }
 
         @Override
         public void started(BuildOperationDescriptor buildOperation, OperationStartEvent startEvent) {
-            if (buildOperation.getId().getId() == 11) {
-                int i = 1;
-            }
             new Entry(new SerializedOperationStart(buildOperation, startEvent), false).add();
         }
 
@@ -423,6 +421,18 @@ public class BuildOperationTrace implements Stoppable {
             }
         }
 
+        // Events are only flushed to the log at the end of each build, rather than after each event, to keep the overhead of tracing low
+        @SuppressWarnings("ConstantConditions")
+        private void flush() {
+            try {
+                synchronized (logOutputStream) {
+                    logOutputStream.flush();
+                }
+            } catch (IOException e) {
+                throw UncheckedException.throwAsUncheckedException(e);
+            }
+        }
+
         private final class Entry {
             final SerializedOperation operation;
             final boolean indent;
@@ -437,11 +447,6 @@ public class BuildOperationTrace implements Stoppable {
                     bufferLock.lock();
                     try {
                         if (buffering) {
-                            if (operation instanceof SerializedOperationStart) {
-                                if (((SerializedOperationStart) operation).id == 11) {
-                                    int i = 1;
-                                }
-                            }
                             buffer.add(this);
                         } else {
                             write();
@@ -464,7 +469,6 @@ public class BuildOperationTrace implements Stoppable {
                         }
                         logOutputStream.write(json.getBytes("UTF-8"));
                         logOutputStream.write(NEWLINE);
-                        logOutputStream.flush();
                     }
                 } catch (IOException e) {
                     throw UncheckedException.throwAsUncheckedException(e);
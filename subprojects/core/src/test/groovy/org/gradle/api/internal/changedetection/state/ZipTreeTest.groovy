@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.changedetection.state
+
+import org.gradle.test.fixtures.file.CleanupTestDirectory
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+import java.util.zip.ZipEntry
+
+@CleanupTestDirectory(fieldName = "tmpDir")
+class ZipTreeTest extends Specification {
+    @Rule
+    public final TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+
+    def "visits file entries of a zip"() {
+        def contents = tmpDir.createDir("contents")
+        contents.file("a.txt") << "a"
+        contents.file("dir/b.class") << "b"
+        def zip = tmpDir.file("test.jar")
+        contents.zipTo(zip)
+        def visitor = new RecordingVisitor()
+
+        when:
+        new ZipTree(snapshot(zip)).visit(visitor)
+
+        then:
+        visitor.entries == ["a.txt": "a", "dir/b.class": "b"]
+    }
+
+    def "entries need not be read by the visitor"() {
+        def contents = tmpDir.createDir("contents")
+        contents.file("a.txt") << "a"
+        contents.file("b.txt") << "b"
+        def zip = tmpDir.file("test.jar")
+        contents.zipTo(zip)
+        def visitor = new RecordingVisitor(onlyRead: "b.txt")
+
+        when:
+        new ZipTree(snapshot(zip)).visit(visitor)
+
+        then:
+        visitor.entries == ["a.txt": null, "b.txt": "b"]
+    }
+
+    def "visits no entries of an empty file"() {
+        def zip = tmpDir.createFile("empty.jar")
+        def visitor = new RecordingVisitor()
+
+        when:
+        new ZipTree(snapshot(zip)).visit(visitor)
+
+        then:
+        visitor.entries.isEmpty()
+    }
+
+    private FileSnapshot snapshot(File file) {
+        Stub(FileSnapshot) {
+            getPath() >> file.absolutePath
+        }
+    }
+
+    private static class RecordingVisitor implements ResourceWithContentsVisitor {
+        String onlyRead
+        Map<String, String> entries = new TreeMap<String, String>()
+
+        @Override
+        void visitFileSnapshot(RegularFileSnapshot fileSnapshot) {
+            throw new UnsupportedOperationException()
+        }
+
+        @Override
+        void visitZipFileEntry(ZipEntry zipEntry, InputStream zipInput) {
+            entries[zipEntry.name] = onlyRead == null || onlyRead == zipEntry.name ? zipInput.text : null
+        }
+    }
+}
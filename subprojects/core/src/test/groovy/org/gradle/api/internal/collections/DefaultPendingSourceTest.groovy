@@ -47,6 +47,25 @@ class DefaultPendingSourceTest extends Specification {
         pending.isEmpty()
     }
 
+    def "realizes pending elements in the order they were added"() {
+        when:
+        pending.addPending(provider3)
+        pending.addPending(provider1)
+        pending.addPending(provider2)
+        pending.removePending(provider1)
+        pending.addPending(provider1)
+        pending.realizePending()
+
+        then:
+        1 * realize.execute(provider3)
+
+        then:
+        1 * realize.execute(provider2)
+
+        then:
+        1 * realize.execute(provider1)
+    }
+
     def "realizes only pending elements with a given type"() {
         _ * provider1.getType() >> SomeType.class
         _ * provider2.getType() >> SomeOtherType.class
@@ -36,4 +36,34 @@ class DefaultFileTreeElementTest extends Specification {
         expect:
         e.mode == 0644
     }
+
+    def "can copy file content to another file"() {
+        def content = new byte[300 * 1024]
+        new Random(42).nextBytes(content)
+        def f = tmpDir.createFile("f")
+        f.bytes = content
+        def target = tmpDir.file("dir/target")
+        FileTreeElement e = new DefaultFileTreeElement(f, null, Stub(Chmod), Stub(Stat))
+
+        when:
+        def copied = e.copyTo(target)
+
+        then:
+        copied
+        target.bytes == content
+    }
+
+    def "copying replaces the content of an existing file"() {
+        def f = tmpDir.createFile("f")
+        f.text = "new"
+        def target = tmpDir.file("target")
+        target.text = "some longer existing content"
+        FileTreeElement e = new DefaultFileTreeElement(f, null, Stub(Chmod), Stub(Stat))
+
+        when:
+        e.copyTo(target)
+
+        then:
+        target.text == "new"
+    }
 }
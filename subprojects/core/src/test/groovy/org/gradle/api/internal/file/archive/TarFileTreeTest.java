@@ -17,16 +17,23 @@ package org.gradle.api.internal.file.archive;
 
 import org.gradle.api.GradleException;
 import org.gradle.api.InvalidUserDataException;
+import org.gradle.api.file.FileVisitDetails;
+import org.gradle.api.file.FileVisitor;
 import org.gradle.api.internal.file.MaybeCompressedFileResource;
 import org.gradle.api.internal.file.TestFiles;
 import org.gradle.api.resources.MissingResourceException;
 import org.gradle.api.resources.internal.LocalResourceAdapter;
+import org.gradle.internal.hash.HashCode;
+import org.gradle.internal.hash.StreamHasher;
 import org.gradle.test.fixtures.file.TestFile;
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider;
 import org.gradle.util.Resources;
 import org.junit.Rule;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
@@ -170,4 +177,41 @@ public class TarFileTreeTest {
         assertVisits(tree, toList("file1.txt"), new ArrayList<String>());
         content.assertHasNotChangedSince(snapshot);
     }
+
+    @Test
+    public void doesNotHashTarFileWhenOnlyReadingEntryContent() {
+        rootDir.file("subdir/file1.txt").write("content");
+        rootDir.tarTo(tarFile);
+
+        StreamHasher failingHasher = new StreamHasher() {
+            @Override
+            public HashCode hash(InputStream inputStream) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public HashCode hashCopy(InputStream inputStream, OutputStream outputStream) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        TarFileTree tree = new TarFileTree(tarFile, new MaybeCompressedFileResource(new LocalResourceAdapter(TestFiles.fileRepository().localResource(tarFile))), expandDir, fileSystem(), fileSystem(), directoryFileTreeFactory(), failingHasher);
+
+        final Map<String, String> contents = new HashMap<String, String>();
+        tree.visit(new FileVisitor() {
+            @Override
+            public void visitDir(FileVisitDetails dirDetails) {
+            }
+
+            @Override
+            public void visitFile(FileVisitDetails fileDetails) {
+                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+                fileDetails.copyTo(outputStream);
+                contents.put(fileDetails.getPath(), outputStream.toString());
+            }
+        });
+
+        assertThat(contents.get("subdir/file1.txt"), equalTo("content"));
+        assertThat(contents.size(), equalTo(1));
+        expandDir.assertDoesNotExist();
+    }
 }
@@ -15,6 +15,7 @@
  */
 package org.gradle.api.internal.file.archive
 
+import org.apache.tools.zip.Zip64Mode
 import org.apache.tools.zip.Zip64RequiredException
 import org.apache.tools.zip.ZipOutputStream
 import org.gradle.api.file.RelativePath
@@ -74,6 +75,40 @@ class ZipCopyActionTest extends Specification {
         expandDir.file("file2").assertContents(equalTo("contents of file2"))
     }
 
+    def "deflated archive content does not depend on the size of the output buffer"() {
+        given:
+        def content = new byte[512 * 1024]
+        new Random(42).nextBytes(content)
+        def files = [dir("dir"), file("dir/file1", content), file("file2")] as FileCopyDetailsInternal[]
+        def defaultBufferCompressor = new DefaultZipCompressor(false, ZipOutputStream.DEFLATED) {
+            @Override
+            ZipOutputStream createArchiveOutputStream(File destination) {
+                def outStream = new ZipOutputStream(destination)
+                outStream.setUseZip64(Zip64Mode.Never)
+                outStream.setMethod(ZipOutputStream.DEFLATED)
+                outStream
+            }
+        }
+        def expectedFile = tmpDir.getTestDirectory().file("expected.zip")
+
+        when:
+        visitor = new ZipCopyAction(zipFile, new DefaultZipCompressor(false, ZipOutputStream.DEFLATED), new DocumentationRegistry(), encoding, false)
+        zip(files)
+        visitor = new ZipCopyAction(expectedFile, defaultBufferCompressor, new DocumentationRegistry(), encoding, false)
+        zip(files)
+
+        then:
+        zipFile.bytes == expectedFile.bytes
+
+        when:
+        TestFile expandDir = tmpDir.getTestDirectory().file("expanded")
+        zipFile.unzipTo(expandDir)
+
+        then:
+        expandDir.file("dir/file1").bytes == content
+        expandDir.file("file2").assertContents(equalTo("contents of file2"))
+    }
+
     void zipFileContainsExpectedPermissions() {
         given:
         zip(dir("dir"), file("file"))
@@ -166,6 +201,18 @@ class ZipCopyActionTest extends Specification {
         mock
     }
 
+    private FileCopyDetailsInternal file(final String path, final byte[] content) {
+        def mock = Mock(FileCopyDetailsInternal)
+        mock.getRelativePath() >> RelativePath.parse(false, path)
+        mock.getLastModified() >> 1000L
+        mock.isDirectory() >> false
+        mock.getMode() >> 1
+        mock.copyTo(_ as OutputStream) >> { OutputStream out ->
+            out.write(content)
+        }
+        mock
+    }
+
     private FileCopyDetailsInternal dir(final String path) {
         def mock = Mock(FileCopyDetailsInternal)
         mock.getRelativePath() >> RelativePath.parse(false, path)
@@ -29,6 +29,7 @@ import org.gradle.internal.classloader.ClassLoaderHierarchyHasher
 import org.gradle.internal.hash.HashCode
 import org.gradle.internal.logging.progress.ProgressLogger
 import org.gradle.internal.logging.progress.ProgressLoggerFactory
+import org.gradle.internal.operations.TestBuildOperationExecutor
 import org.gradle.internal.resource.TextResource
 import spock.lang.Specification
 
@@ -50,11 +51,12 @@ class FileCacheBackedScriptClassCompilerTest extends Specification {
     final classLoaderHierarchyHasher = Mock(ClassLoaderHierarchyHasher) {
         getClassLoaderHash(classLoader) >> HashCode.fromInt(9999)
     }
+    final buildOperationExecutor = new TestBuildOperationExecutor()
     final File localDir = new File("local-dir")
     final File globalDir = new File("global-dir")
     final File classesDir = new File(globalDir, "classes")
     final File metadataDir = new File(globalDir, "metadata")
-    final FileCacheBackedScriptClassCompiler compiler = new FileCacheBackedScriptClassCompiler(cacheRepository, validator, scriptCompilationHandler, Stub(ProgressLoggerFactory), hasher, classLoaderCache, classLoaderHierarchyHasher)
+    final FileCacheBackedScriptClassCompiler compiler = new FileCacheBackedScriptClassCompiler(cacheRepository, validator, scriptCompilationHandler, Stub(ProgressLoggerFactory), hasher, classLoaderCache, classLoaderHierarchyHasher, buildOperationExecutor)
     final Action verifier = Stub()
     final CompiledScript compiledScript = Stub() {
         loadClass() >> Script
@@ -104,6 +106,9 @@ class FileCacheBackedScriptClassCompilerTest extends Specification {
 
         1 * scriptCompilationHandler.loadFromDir(source, _, classLoader, new File(localDir, 'classes'), new File(localDir, 'metadata'), operation, Script, classLoaderId) >> compiledScript
         0 * scriptCompilationHandler._
+
+        and:
+        buildOperationExecutor.operations.empty
     }
 
     def "passes CacheValidator to cache builders"() {
@@ -163,6 +168,9 @@ class FileCacheBackedScriptClassCompilerTest extends Specification {
         1 * scriptCompilationHandler.compileToDir({ it instanceof RemappingScriptSource }, classLoader, classesDir, metadataDir, operation, Script, verifier)
         1 * scriptCompilationHandler.loadFromDir(source, _, classLoader, localClassesDir, localMetadataDir, operation, Script, classLoaderId) >> compiledScript
         0 * scriptCompilationHandler._
+
+        and:
+        buildOperationExecutor.operations*.displayName == ["Compile Build Script (TransformerId)"]
     }
 
     def "reports compilation progress even in case of a failure"() {
@@ -36,6 +36,8 @@ import org.gradle.execution.MultipleBuildFailures
 import org.gradle.execution.TaskExecutionGraphInternal
 import org.gradle.internal.concurrent.ParallelismConfigurationManagerFixture
 import org.gradle.internal.concurrent.Stoppable
+import org.gradle.internal.logging.ConfigureLogging
+import org.gradle.internal.logging.TestOutputEventListener
 import org.gradle.internal.operations.TestBuildOperationExecutor
 import org.gradle.internal.resources.DefaultResourceLockCoordinationService
 import org.gradle.internal.resources.ResourceLockCoordinationService
@@ -45,6 +47,7 @@ import org.gradle.internal.work.DefaultWorkerLeaseService
 import org.gradle.internal.work.WorkerLeaseService
 import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
 import org.gradle.util.TestUtil
+import org.junit.Rule
 import spock.lang.Specification
 
 import static org.gradle.util.Path.path
@@ -80,6 +83,8 @@ class DefaultGradleLauncherSpec extends Specification {
     private Stoppable otherService = Mock(Stoppable)
     private IncludedBuildControllers includedBuildControllers = Mock()
     public TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+    def outputEventListener = new TestOutputEventListener()
+    @Rule ConfigureLogging logging = new ConfigureLogging(outputEventListener)
 
     final RuntimeException failure = new RuntimeException("main")
     final RuntimeException transformedException = new RuntimeException("transformed")
@@ -151,6 +156,27 @@ class DefaultGradleLauncherSpec extends Specification {
 
     }
 
+    void testLogsProjectsConfiguredOnDemandIncludingThoseConfiguredWhilePopulatingTaskGraph() {
+        when:
+        expectedStartParams.setConfigureOnDemand(true)
+        def childProject = TestUtil.createChildProject(expectedRootProject, "child")
+
+        isRootBuild()
+        expectInitScriptsExecuted()
+        expectSettingsBuilt()
+        expectTasksRun()
+        expectBuildListenerCallbacks()
+        1 * buildConfigurerMock.configure(gradleMock) >> { expectedRootProject.state.configured() }
+        1 * buildConfigurationActionExecuter.select(gradleMock)
+        1 * taskGraphMock.populate() >> { childProject.state.configured() }
+        1 * includedBuildControllers.populateTaskGraphs()
+        DefaultGradleLauncher gradleLauncher = launcher()
+        gradleLauncher.executeTasks()
+
+        then:
+        outputEventListener.toString().contains("[INFO] [${DefaultGradleLauncher.name}] Configuration on demand configured 2 of 2 projects in build.")
+    }
+
     void testRunAsNestedBuild() {
         when:
         isNestedBuild()
@@ -718,6 +718,46 @@ class BeanDynamicObjectTest extends Specification {
         e.message == "Could not find method unknown() for arguments [] on <bean> of type ${bean.getClass().name}."
     }
 
+    def "repeated lookups on different instances of the same type give consistent results"() {
+        def first = new BeanDynamicObject(new Bean(prop: "one"))
+        def second = new BeanDynamicObject(new Bean(prop: "two"))
+
+        expect:
+        first.getProperty("prop") == "one"
+        second.getProperty("prop") == "two"
+        first.invokeMethod("m", [1] as Object[]) == "[2]"
+        second.invokeMethod("m", [2] as Object[]) == "[3]"
+        !first.hasProperty("unknown")
+        !second.hasProperty("unknown")
+        !first.hasMethod("unknown", [] as Object[])
+        !second.hasMethod("unknown", [] as Object[])
+        !first.tryGetProperty("unknown").found
+        !second.tryInvokeMethod("unknown").found
+    }
+
+    def "does not use cached lookups while a category is in use"() {
+        def dynamicObject = new BeanDynamicObject(new Bean())
+
+        expect:
+        !dynamicObject.hasMethod("fromCategory", [1] as Object[])
+        !dynamicObject.tryInvokeMethod("fromCategory", 1).found
+        use(BeanCategory) {
+            dynamicObject.invokeMethod("fromCategory", [1] as Object[])
+        } == "category 1"
+        !dynamicObject.hasMethod("fromCategory", [1] as Object[])
+    }
+
+    def "does not cache lookups made while a category is in use"() {
+        def dynamicObject = new BeanDynamicObject(new Bean())
+
+        expect:
+        use(BeanCategory) {
+            dynamicObject.hasMethod("fromCategory", [1] as Object[])
+        }
+        !dynamicObject.hasMethod("fromCategory", [1] as Object[])
+        !dynamicObject.tryInvokeMethod("fromCategory", 1).found
+    }
+
     enum SomeEnum {
         A, B, C
     }
@@ -752,6 +792,12 @@ class BeanDynamicObjectTest extends Specification {
         }
     }
 
+    static class BeanCategory {
+        static String fromCategory(Bean bean, int i) {
+            return "category ${i}"
+        }
+    }
+
     static class Bean {
         String prop
 
@@ -34,4 +34,9 @@ public interface ComponentMetadataProcessorFactory {
      * @return a {@code ComponentMetadataProcessor}
      */
     ComponentMetadataProcessor createComponentMetadataProcessor(MetadataResolutionContext resolutionContext);
+
+    /**
+     * Returns true when component metadata rules have been registered, in which case the processors created by this factory execute build logic.
+     */
+    boolean hasRules();
 }
@@ -24,6 +24,11 @@ public interface GlobalDependencyResolutionRules {
         public ComponentMetadataProcessor createComponentMetadataProcessor(MetadataResolutionContext resolutionContext) {
             return ComponentMetadataProcessor.NO_OP;
         }
+
+        @Override
+        public boolean hasRules() {
+            return false;
+        }
     };
 
     GlobalDependencyResolutionRules NO_OP = new GlobalDependencyResolutionRules() {
@@ -199,6 +199,11 @@ public class DefaultComponentMetadataHandler implements ComponentMetadataHandler
         return new DefaultComponentMetadataProcessor(rules, classBasedRules, instantiator, dependencyMetadataNotationParser, dependencyConstraintMetadataNotationParser, attributesFactory, ruleExecutor, resolutionContext);
     }
 
+    @Override
+    public boolean hasRules() {
+        return !rules.isEmpty() || !classBasedRules.isEmpty();
+    }
+
     static class ComponentMetadataDetailsMatchingSpec implements Spec<ComponentMetadataDetails> {
         private ModuleIdentifier target;
 
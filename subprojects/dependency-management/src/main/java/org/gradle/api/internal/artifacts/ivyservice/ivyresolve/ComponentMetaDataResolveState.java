@@ -18,6 +18,7 @@ package org.gradle.api.internal.artifacts.ivyservice.ivyresolve;
 
 import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
 import org.gradle.internal.component.model.ComponentOverrideMetadata;
+import org.gradle.internal.resolve.ModuleVersionResolveException;
 import org.gradle.internal.resolve.RejectedByRuleVersion;
 import org.gradle.internal.resolve.result.BuildableModuleComponentMetaDataResolveResult;
 import org.gradle.internal.resolve.result.DefaultBuildableModuleComponentMetaDataResolveResult;
@@ -32,6 +33,7 @@ class ComponentMetaDataResolveState {
 
     private boolean searchedLocally;
     private boolean searchedRemotely;
+    private boolean resolvedRemotelyInAdvance;
 
     public ComponentMetaDataResolveState(ModuleComponentIdentifier componentIdentifier, ComponentOverrideMetadata componentOverrideMetadata, ModuleComponentRepository repository, VersionedComponentChooser versionedComponentChooser) {
         this.componentOverrideMetadata = componentOverrideMetadata;
@@ -56,15 +58,48 @@ class ComponentMetaDataResolveState {
 
         if (!searchedRemotely) {
             searchedRemotely = true;
-            process(repository.getRemoteAccess());
+            if (resolvedRemotelyInAdvance) {
+                applyComponentSelectionRules();
+            } else {
+                process(repository.getRemoteAccess());
+            }
             return resolveResult;
         }
 
         throw new IllegalStateException();
     }
 
+    /**
+     * Performs the remote search ahead of the next call to {@link #resolve()}, which will then return its result.
+     * Can only be used once the local search has been done without an authoritative result.
+     *
+     * This may be called from a thread other than the one resolving the component. Any failure is recorded as the result of this repository,
+     * and the component selection rules, which may contain user code, are only applied by the later call to {@link #resolve()}.
+     * The remote access of the repository may run component metadata rules, so this must not be called from another thread when any are registered.
+     */
+    void resolveRemotelyInAdvance() {
+        if (!searchedLocally || searchedRemotely || resolvedRemotelyInAdvance) {
+            throw new IllegalStateException();
+        }
+        resolvedRemotelyInAdvance = true;
+        try {
+            repository.getRemoteAccess().resolveComponentMetaData(componentIdentifier, componentOverrideMetadata, resolveResult);
+        } catch (Throwable e) {
+            resolveResult.failed(new ModuleVersionResolveException(componentIdentifier, e));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return componentIdentifier + " in " + repository.getName();
+    }
+
     protected void process(ModuleComponentRepositoryAccess moduleAccess) {
         moduleAccess.resolveComponentMetaData(componentIdentifier, componentOverrideMetadata, resolveResult);
+        applyComponentSelectionRules();
+    }
+
+    private void applyComponentSelectionRules() {
         if (resolveResult.getState() == BuildableModuleComponentMetaDataResolveResult.State.Resolved) {
             RejectedByRuleVersion rejectedComponent = versionedComponentChooser.isRejectedComponent(componentIdentifier, new CachedMetadataProvider(resolveResult));
             if (rejectedComponent != null) {
@@ -16,12 +16,18 @@
 
 package org.gradle.api.internal.artifacts.ivyservice.ivyresolve;
 
+import org.gradle.api.Action;
 import org.gradle.api.Transformer;
 import org.gradle.api.artifacts.component.ComponentIdentifier;
 import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
 import org.gradle.api.internal.artifacts.repositories.resolver.MetadataFetchingCost;
 import org.gradle.internal.component.external.model.ModuleComponentResolveMetadata;
 import org.gradle.internal.component.model.ComponentOverrideMetadata;
+import org.gradle.internal.operations.BuildOperationContext;
+import org.gradle.internal.operations.BuildOperationDescriptor;
+import org.gradle.internal.operations.BuildOperationExecutor;
+import org.gradle.internal.operations.BuildOperationQueue;
+import org.gradle.internal.operations.RunnableBuildOperation;
 import org.gradle.internal.resolve.ModuleVersionResolveException;
 import org.gradle.internal.resolve.resolver.ComponentMetaDataResolver;
 import org.gradle.internal.resolve.result.BuildableComponentResolveResult;
@@ -39,15 +45,28 @@ import static org.gradle.internal.resolve.ResolveExceptionAnalyzer.isCriticalFai
 
 public class RepositoryChainComponentMetaDataResolver implements ComponentMetaDataResolver {
     private static final Logger LOGGER = LoggerFactory.getLogger(RepositoryChainComponentMetaDataResolver.class);
+    private static final String PARALLEL_REPOSITORY_SEARCH = "org.gradle.resolution.parallelRepositorySearch";
 
     private final List<ModuleComponentRepository> repositories = new ArrayList<ModuleComponentRepository>();
     private final List<String> repositoryNames = new ArrayList<String>();
     private final VersionedComponentChooser versionedComponentChooser;
     private final Transformer<ModuleComponentResolveMetadata, RepositoryChainModuleResolution> metaDataFactory;
+    private final BuildOperationExecutor buildOperationExecutor;
+    private final boolean parallelRepositorySearch;
 
-    public RepositoryChainComponentMetaDataResolver(VersionedComponentChooser componentChooser, Transformer<ModuleComponentResolveMetadata, RepositoryChainModuleResolution> metaDataFactory) {
+    public RepositoryChainComponentMetaDataResolver(VersionedComponentChooser componentChooser, Transformer<ModuleComponentResolveMetadata, RepositoryChainModuleResolution> metaDataFactory, BuildOperationExecutor buildOperationExecutor) {
+        this(componentChooser, metaDataFactory, buildOperationExecutor, true);
+    }
+
+    /**
+     * @param allowParallelRepositorySearch false when repositories must be searched on the resolving thread, for example because
+     * the remote access of a repository executes component metadata rules.
+     */
+    public RepositoryChainComponentMetaDataResolver(VersionedComponentChooser componentChooser, Transformer<ModuleComponentResolveMetadata, RepositoryChainModuleResolution> metaDataFactory, BuildOperationExecutor buildOperationExecutor, boolean allowParallelRepositorySearch) {
         this.versionedComponentChooser = componentChooser;
         this.metaDataFactory = metaDataFactory;
+        this.buildOperationExecutor = buildOperationExecutor;
+        this.parallelRepositorySearch = allowParallelRepositorySearch && Boolean.getBoolean(PARALLEL_REPOSITORY_SEARCH);
     }
 
     public void add(ModuleComponentRepository repository) {
@@ -127,9 +146,31 @@ public class RepositoryChainComponentMetaDataResolver implements ComponentMetaDa
         // Nothing found locally - try a remote search for all resolve states that were not yet searched remotely
         queue.addAll(missing);
         missing.clear();
+        if (parallelRepositorySearch && queue.size() > 1) {
+            resolveRemotelyInParallel(queue);
+        }
         return findBestMatch(queue, failures, missing);
     }
 
+    /**
+     * Searches all remaining repositories at once, instead of waiting for each miss before trying the next repository.
+     * The results are then processed in repository order, so the same repository wins as for a sequential search.
+     * A failure to search a repository is treated as for a sequential search, and component selection rules are applied on this thread.
+     * The remote access of a repository applies component metadata rules to the metadata it fetches, so the search is not done in parallel
+     * when any component metadata rules are registered.
+     */
+    private void resolveRemotelyInParallel(final List<ComponentMetaDataResolveState> resolveStates) {
+        LOGGER.debug("Searching {} repositories in parallel for {}", resolveStates.size(), resolveStates.get(0));
+        buildOperationExecutor.runAll(new Action<BuildOperationQueue<RunnableBuildOperation>>() {
+            @Override
+            public void execute(BuildOperationQueue<RunnableBuildOperation> buildOperationQueue) {
+                for (ComponentMetaDataResolveState resolveState : resolveStates) {
+                    buildOperationQueue.add(new RemoteSearchOperation(resolveState));
+                }
+            }
+        });
+    }
+
     private RepositoryChainModuleResolution findBestMatch(LinkedList<ComponentMetaDataResolveState> queue, Collection<Throwable> failures, Collection<ComponentMetaDataResolveState> missing) {
         RepositoryChainModuleResolution best = null;
         while (!queue.isEmpty()) {
@@ -163,4 +204,22 @@ public class RepositoryChainComponentMetaDataResolver implements ComponentMetaDa
 
         return best;
     }
+
+    private static class RemoteSearchOperation implements RunnableBuildOperation {
+        private final ComponentMetaDataResolveState resolveState;
+
+        RemoteSearchOperation(ComponentMetaDataResolveState resolveState) {
+            this.resolveState = resolveState;
+        }
+
+        @Override
+        public void run(BuildOperationContext context) {
+            resolveState.resolveRemotelyInAdvance();
+        }
+
+        @Override
+        public BuildOperationDescriptor.Builder description() {
+            return BuildOperationDescriptor.displayName("Search " + resolveState);
+        }
+    }
 }
@@ -16,7 +16,8 @@
 
 package org.gradle.api.internal.artifacts.ivyservice.resolveengine.artifact;
 
-import com.google.common.collect.Maps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.excludes.ModuleExclusion;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.DependencyGraphEdge;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.DependencyGraphNode;
@@ -31,14 +32,13 @@ import org.gradle.internal.component.model.ConfigurationMetadata;
 import org.gradle.internal.resolve.resolver.ArtifactSelector;
 
 import java.util.List;
-import java.util.Map;
 
 /**
  * Adapts a {@link DependencyArtifactsVisitor} to a {@link DependencyGraphVisitor}. Calculates the artifacts contributed by each edge in the graph and forwards the results to the artifact visitor.
  */
 public class ResolvedArtifactsGraphVisitor implements DependencyGraphVisitor {
     private int nextId;
-    private final Map<Long, ArtifactsForNode> artifactsByNodeId = Maps.newHashMap();
+    private final Long2ObjectMap<ArtifactsForNode> artifactsByNodeId = new Long2ObjectOpenHashMap<ArtifactsForNode>();
     private final ArtifactSelector artifactSelector;
     private final DependencyArtifactsVisitor artifactResults;
 
@@ -94,7 +94,7 @@ public class ResolvedArtifactsGraphVisitor implements DependencyGraphVisitor {
             return new ArtifactsForNode(id, artifactSet);
         }
 
-        ArtifactsForNode configurationArtifactSet = artifactsByNodeId.get(toConfiguration.getNodeId());
+        ArtifactsForNode configurationArtifactSet = artifactsByNodeId.get(toConfiguration.getNodeId().longValue());
         if (configurationArtifactSet == null) {
             ModuleExclusion exclusions = dependency.getExclusions();
             ArtifactSet nodeArtifacts = artifactSelector.resolveArtifacts(component, targetConfiguration, exclusions, overriddenAttributes);
@@ -103,7 +103,7 @@ public class ResolvedArtifactsGraphVisitor implements DependencyGraphVisitor {
 
             // Only share an ArtifactSet if the artifacts are not filtered by the dependency
             if (!exclusions.mayExcludeArtifacts()) {
-                artifactsByNodeId.put(toConfiguration.getNodeId(), configurationArtifactSet);
+                artifactsByNodeId.put(toConfiguration.getNodeId().longValue(), configurationArtifactSet);
             }
         }
 
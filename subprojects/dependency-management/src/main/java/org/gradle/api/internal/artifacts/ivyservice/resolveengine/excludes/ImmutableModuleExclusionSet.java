@@ -33,7 +33,11 @@ final class ImmutableModuleExclusionSet implements Set<AbstractModuleExclusion>
     private final int hashCode;
 
     // the following fields are used as optimizations, to avoid iterating on the whole set of exclusions
-    private ImmutableSet<ModuleIdentifier> excludedModules;
+    // excludedModules is assigned last and is used to check whether the other fields have been computed
+    private volatile ImmutableSet<ModuleIdentifier> excludedModules;
+    private ImmutableSet<String> excludedGroups;
+    private ImmutableSet<String> excludedModuleNames;
+    private boolean excludesAllModules;
     private ImmutableList<AbstractModuleExclusion> moduleExcludes;
     private ImmutableList<AbstractModuleExclusion> artifactExcludes;
 
@@ -43,16 +47,31 @@ final class ImmutableModuleExclusionSet implements Set<AbstractModuleExclusion>
         this.hashCode = delegate.hashCode();
     }
 
-    private synchronized void precomputeCaches() {
+    private void precomputeCaches() {
+        if (excludedModules == null) {
+            doPrecomputeCaches();
+        }
+    }
+
+    private synchronized void doPrecomputeCaches() {
         if (excludedModules != null) {
             return;
         }
         ImmutableSet.Builder<ModuleIdentifier> moduleIds = ImmutableSet.builder();
+        ImmutableSet.Builder<String> groups = ImmutableSet.builder();
+        ImmutableSet.Builder<String> moduleNames = ImmutableSet.builder();
+        boolean excludesAll = false;
         ImmutableList.Builder<AbstractModuleExclusion> modules = ImmutableList.builder();
         ImmutableList.Builder<AbstractModuleExclusion> artifacts = ImmutableList.builder();
         for (AbstractModuleExclusion exclusion : delegate) {
             if (exclusion instanceof ModuleIdExcludeSpec) {
                 moduleIds.add(((ModuleIdExcludeSpec) exclusion).moduleId);
+            } else if (exclusion instanceof GroupNameExcludeSpec) {
+                groups.add(((GroupNameExcludeSpec) exclusion).group);
+            } else if (exclusion instanceof ModuleNameExcludeSpec) {
+                moduleNames.add(((ModuleNameExcludeSpec) exclusion).module);
+            } else if (exclusion instanceof ExcludeAllModulesSpec) {
+                excludesAll = true;
             } else {
                 if (!exclusion.excludesNoModules()) {
                     modules.add(exclusion);
@@ -62,9 +81,12 @@ final class ImmutableModuleExclusionSet implements Set<AbstractModuleExclusion>
                 }
             }
         }
-        excludedModules = moduleIds.build();
+        excludedGroups = groups.build();
+        excludedModuleNames = moduleNames.build();
+        excludesAllModules = excludesAll;
         moduleExcludes = modules.build();
         artifactExcludes = artifacts.build();
+        excludedModules = moduleIds.build();
     }
 
     @Override
@@ -90,13 +112,17 @@ final class ImmutableModuleExclusionSet implements Set<AbstractModuleExclusion>
     /**
      * This method optimizes module exclusion lookup, based on empirical data showing that the set can be very large, but would contain mostly direct module exclusion nodes. So instead of always
      * iterating over all excluded modules, we can perform a fast lookup using a set of excluded modules first, then only iterate on the remaining exclusions.
+     * Group and module name exclusions are indexed the same way, so that only pattern based and composite exclusions need to be evaluated one by one.
      *
      * @param id the module to check
      * @return true if it's excluded
      */
     boolean excludesModule(ModuleIdentifier id) {
         precomputeCaches();
-        if (excludedModules.contains(id)) {
+        if (excludesAllModules) {
+            return true;
+        }
+        if (excludedModules.contains(id) || excludedGroups.contains(id.getGroup()) || excludedModuleNames.contains(id.getName())) {
             return true;
         }
         for (AbstractModuleExclusion excludeSpec : moduleExcludes) {
@@ -16,6 +16,8 @@
 
 package org.gradle.api.internal.artifacts.ivyservice.resolveengine.excludes;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
@@ -55,9 +57,13 @@ public class ModuleExclusions {
     private static final ExcludeNone EXCLUDE_NONE = new ExcludeNone();
     private static final ExcludeAllModulesSpec EXCLUDE_ALL_MODULES_SPEC = new ExcludeAllModulesSpec();
 
+    // Upper bound for the number of merge operations that are remembered. Merge results are interned through
+    // the intersection cache, so dropping a merge operation only means it has to be computed again.
+    private static final int MAX_MERGE_CACHE_SIZE = 10000;
+
     private final ImmutableModuleIdentifierFactory moduleIdentifierFactory;
 
-    private final Map<MergeOperation, AbstractModuleExclusion> mergeCache = Maps.newConcurrentMap();
+    private final Cache<MergeOperation, AbstractModuleExclusion> mergeCache = CacheBuilder.newBuilder().maximumSize(MAX_MERGE_CACHE_SIZE).build();
     private final Map<ImmutableList<ExcludeMetadata>, AbstractModuleExclusion> excludeAnyCache = Maps.newConcurrentMap();
     private final Map<ImmutableSet<AbstractModuleExclusion>, IntersectionExclusion> intersectionCache = Maps.newConcurrentMap();
     private final Map<AbstractModuleExclusion[], Map<AbstractModuleExclusion[], MergeOperation>> mergeOperationCache = Maps.newIdentityHashMap();
@@ -270,7 +276,7 @@ public class ModuleExclusions {
             }
 
             MergeOperation merge = mergeOperation(oneFilters, otherFilters);
-            AbstractModuleExclusion exclusion = mergeCache.get(merge);
+            AbstractModuleExclusion exclusion = mergeCache.getIfPresent(merge);
             if (exclusion != null) {
                 return exclusion;
             }
@@ -283,6 +289,9 @@ public class ModuleExclusions {
         synchronized (mergeOperationLock) {
             Map<AbstractModuleExclusion[], MergeOperation> oneMap = mergeOperationCache.get(one);
             if (oneMap == null) {
+                if (mergeOperationCache.size() >= MAX_MERGE_CACHE_SIZE) {
+                    mergeOperationCache.clear();
+                }
                 oneMap = Maps.newIdentityHashMap();
                 mergeOperationCache.put(one, oneMap);
 
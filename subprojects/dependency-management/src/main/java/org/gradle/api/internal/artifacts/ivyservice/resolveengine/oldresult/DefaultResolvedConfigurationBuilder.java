@@ -16,14 +16,13 @@
 
 package org.gradle.api.internal.artifacts.ivyservice.resolveengine.oldresult;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import org.gradle.api.artifacts.Dependency;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.DependencyGraphNode;
 
-import java.util.HashMap;
-import java.util.Map;
-
 public class DefaultResolvedConfigurationBuilder implements ResolvedConfigurationBuilder {
-    private final Map<Long, Dependency> modulesMap = new HashMap<Long, Dependency>();
+    private final Long2ObjectMap<Dependency> modulesMap = new Long2ObjectOpenHashMap<Dependency>();
     private final TransientConfigurationResultsBuilder builder;
 
     public DefaultResolvedConfigurationBuilder(TransientConfigurationResultsBuilder builder) {
@@ -35,7 +34,7 @@ public class DefaultResolvedConfigurationBuilder implements ResolvedConfiguratio
         builder.firstLevelDependency(dependency.getNodeId());
         //we don't serialise the module dependencies at this stage so we need to keep track
         //of the mapping module dependency <-> resolved dependency
-        modulesMap.put(dependency.getNodeId(), moduleDependency);
+        modulesMap.put(dependency.getNodeId().longValue(), moduleDependency);
     }
 
     @Override
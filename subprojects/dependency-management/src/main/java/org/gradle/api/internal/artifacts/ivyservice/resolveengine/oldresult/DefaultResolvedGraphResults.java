@@ -16,14 +16,13 @@
 
 package org.gradle.api.internal.artifacts.ivyservice.resolveengine.oldresult;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import org.gradle.api.artifacts.Dependency;
 
-import java.util.Map;
-
 public class DefaultResolvedGraphResults implements ResolvedGraphResults {
-    private final Map<Long, Dependency> modulesMap;
+    private final Long2ObjectMap<Dependency> modulesMap;
 
-    public DefaultResolvedGraphResults(Map<Long, Dependency> modulesMap) {
+    public DefaultResolvedGraphResults(Long2ObjectMap<Dependency> modulesMap) {
         this.modulesMap = modulesMap;
     }
 
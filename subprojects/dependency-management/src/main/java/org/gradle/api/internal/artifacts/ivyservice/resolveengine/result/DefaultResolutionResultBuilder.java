@@ -16,6 +16,8 @@
 
 package org.gradle.api.internal.artifacts.ivyservice.resolveengine.result;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import org.gradle.api.artifacts.ModuleVersionIdentifier;
 import org.gradle.api.artifacts.component.ComponentIdentifier;
 import org.gradle.api.artifacts.result.ComponentSelectionReason;
@@ -32,11 +34,9 @@ import org.gradle.api.internal.attributes.ImmutableAttributes;
 import org.gradle.internal.Factory;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
 
 public class DefaultResolutionResultBuilder {
-    private final Map<Long, DefaultResolvedComponentResult> modules = new HashMap<Long, DefaultResolvedComponentResult>();
+    private final Long2ObjectMap<DefaultResolvedComponentResult> modules = new Long2ObjectOpenHashMap<DefaultResolvedComponentResult>();
     private final CachingDependencyResultFactory dependencyResultFactory = new CachingDependencyResultFactory();
 
     public static ResolutionResult empty(ModuleVersionIdentifier id, ComponentIdentifier componentIdentifier) {
@@ -46,7 +46,7 @@ public class DefaultResolutionResultBuilder {
     }
 
     public ResolutionResult complete(Long rootId) {
-        return new DefaultResolutionResult(new RootFactory(modules.get(rootId)));
+        return new DefaultResolutionResult(new RootFactory(modules.get(rootId.longValue())));
     }
 
     public void visitComponent(ComponentResult component) {
@@ -59,12 +59,12 @@ public class DefaultResolutionResultBuilder {
 
     public void visitOutgoingEdges(Long fromComponent, Collection<? extends DependencyResult> dependencies) {
         for (DependencyResult d : dependencies) {
-            DefaultResolvedComponentResult from = modules.get(fromComponent);
+            DefaultResolvedComponentResult from = modules.get(fromComponent.longValue());
             org.gradle.api.artifacts.result.DependencyResult dependency;
             if (d.getFailure() != null) {
                 dependency = dependencyResultFactory.createUnresolvedDependency(d.getRequested(), from, d.getReason(), d.getFailure());
             } else {
-                DefaultResolvedComponentResult selected = modules.get(d.getSelected());
+                DefaultResolvedComponentResult selected = modules.get(d.getSelected().longValue());
                 dependency = dependencyResultFactory.createResolvedDependency(d.getRequested(), from, selected);
                 selected.addDependent((ResolvedDependencyResult) dependency);
             }
@@ -72,7 +72,7 @@ public class DefaultResolutionResultBuilder {
         }
     }
 
-    private void create(Long id, ModuleVersionIdentifier moduleVersion, ComponentSelectionReason selectionReason, ComponentIdentifier componentId, ResolvedVariantResult variant) {
+    private void create(long id, ModuleVersionIdentifier moduleVersion, ComponentSelectionReason selectionReason, ComponentIdentifier componentId, ResolvedVariantResult variant) {
         if (!modules.containsKey(id)) {
             modules.put(id, new DefaultResolvedComponentResult(moduleVersion, selectionReason, componentId, variant));
         }
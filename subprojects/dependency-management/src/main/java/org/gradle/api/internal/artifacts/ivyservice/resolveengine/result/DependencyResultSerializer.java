@@ -16,6 +16,7 @@
 
 package org.gradle.api.internal.artifacts.ivyservice.resolveengine.result;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import org.gradle.api.artifacts.component.ComponentSelector;
 import org.gradle.api.artifacts.result.ComponentSelectionReason;
 import org.gradle.api.internal.artifacts.ivyservice.resolveengine.graph.DependencyGraphEdge;
@@ -32,8 +33,8 @@ public class DependencyResultSerializer {
     private final static byte FAILED = 1;
     private final ComponentSelectionReasonSerializer componentSelectionReasonSerializer = new ComponentSelectionReasonSerializer();
 
-    public DependencyResult read(Decoder decoder, Map<Long, ComponentSelector> selectors, Map<ComponentSelector, ModuleVersionResolveException> failures) throws IOException {
-        Long selectorId = decoder.readSmallLong();
+    public DependencyResult read(Decoder decoder, Long2ObjectMap<ComponentSelector> selectors, Map<ComponentSelector, ModuleVersionResolveException> failures) throws IOException {
+        long selectorId = decoder.readSmallLong();
         ComponentSelector requested = selectors.get(selectorId);
 
         byte resultByte = decoder.readByte();
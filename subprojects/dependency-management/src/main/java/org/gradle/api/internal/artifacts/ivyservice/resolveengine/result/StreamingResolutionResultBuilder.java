@@ -16,6 +16,10 @@
 
 package org.gradle.api.internal.artifacts.ivyservice.resolveengine.result;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
 import org.gradle.api.artifacts.component.ComponentSelector;
 import org.gradle.api.artifacts.result.ResolutionResult;
 import org.gradle.api.artifacts.result.ResolvedComponentResult;
@@ -44,10 +48,8 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import static org.gradle.internal.UncheckedException.throwAsUncheckedException;
 
@@ -63,7 +65,7 @@ public class StreamingResolutionResultBuilder implements DependencyGraphVisitor
     private final Store<ResolvedComponentResult> cache;
     private final ComponentSelectorSerializer componentSelectorSerializer;
     private final DependencyResultSerializer dependencyResultSerializer = new DependencyResultSerializer();
-    private final Set<Long> visitedComponents = new HashSet<Long>();
+    private final LongSet visitedComponents = new LongOpenHashSet();
 
     public StreamingResolutionResultBuilder(BinaryStore store, Store<ResolvedComponentResult> cache, ImmutableModuleIdentifierFactory moduleIdentifierFactory, AttributeContainerSerializer attributeContainerSerializer) {
         this.componentResultSerializer = new ComponentResultSerializer(moduleIdentifierFactory, attributeContainerSerializer);
@@ -97,7 +99,7 @@ public class StreamingResolutionResultBuilder implements DependencyGraphVisitor
     @Override
     public void visitNode(DependencyGraphNode node) {
         final DependencyGraphComponent component = node.getOwner();
-        if (visitedComponents.add(component.getResultId())) {
+        if (visitedComponents.add(component.getResultId().longValue())) {
             store.write(new BinaryStore.WriteAction() {
                 public void write(Encoder encoder) throws IOException {
                     encoder.writeByte(COMPONENT);
@@ -191,7 +193,7 @@ public class StreamingResolutionResultBuilder implements DependencyGraphVisitor
             Timer clock = Time.startTimer();
             try {
                 DefaultResolutionResultBuilder builder = new DefaultResolutionResultBuilder();
-                Map<Long, ComponentSelector> selectors = new HashMap<Long, ComponentSelector>();
+                Long2ObjectMap<ComponentSelector> selectors = new Long2ObjectOpenHashMap<ComponentSelector>();
                 componentResultSerializer.reset();
                 dependencyResultSerializer.reset();
                 while (true) {
@@ -209,7 +211,7 @@ public class StreamingResolutionResultBuilder implements DependencyGraphVisitor
                             builder.visitComponent(component);
                             break;
                         case SELECTOR:
-                            Long id = decoder.readSmallLong();
+                            long id = decoder.readSmallLong();
                             ComponentSelector selector = componentSelectorSerializer.read(decoder);
                             selectors.put(id, selector);
                             break;
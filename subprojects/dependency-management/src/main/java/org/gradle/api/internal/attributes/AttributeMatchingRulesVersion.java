@@ -0,0 +1,35 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.attributes;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts the matching strategies and rules added to an attributes schema. Rules can only be added, never removed,
+ * so a change of this version is enough to detect that cached matching results are stale.
+ */
+public class AttributeMatchingRulesVersion {
+    private final AtomicInteger version = new AtomicInteger();
+
+    public void increment() {
+        version.incrementAndGet();
+    }
+
+    public int get() {
+        return version.get();
+    }
+}
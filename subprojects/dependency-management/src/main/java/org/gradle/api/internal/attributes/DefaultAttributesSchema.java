@@ -16,6 +16,10 @@
 
 package org.gradle.api.internal.attributes;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.gradle.api.Action;
 import org.gradle.api.attributes.Attribute;
@@ -41,6 +45,9 @@ import java.util.Map;
 import java.util.Set;
 
 public class DefaultAttributesSchema implements AttributesSchemaInternal, AttributesSchema {
+    // Upper bound for the number of compatibility checks and selection results that are remembered per producer schema
+    private static final int MAX_MATCHING_CACHE_SIZE = 10000;
+
     private final ComponentAttributeMatcher componentAttributeMatcher;
     private final InstantiatorFactory instantiatorFactory;
     private final Map<Attribute<?>, AttributeMatchingStrategy<?>> strategies = Maps.newHashMap();
@@ -49,6 +56,8 @@ public class DefaultAttributesSchema implements AttributesSchemaInternal, Attrib
     private final DefaultAttributeMatcher matcher;
     private final IsolatableFactory isolatableFactory;
     private final Map<ExtraAttributesEntry, Attribute<?>[]> extraAttributesCache = Maps.newHashMap();
+    private final Map<AttributesSchemaInternal, DefaultAttributeMatcher> producerMatchers = Maps.newConcurrentMap();
+    private final AttributeMatchingRulesVersion rulesVersion = new AttributeMatchingRulesVersion();
 
     public DefaultAttributesSchema(ComponentAttributeMatcher componentAttributeMatcher, InstantiatorFactory instantiatorFactory, IsolatableFactory isolatableFactory) {
         this.componentAttributeMatcher = componentAttributeMatcher;
@@ -75,9 +84,10 @@ public class DefaultAttributesSchema implements AttributesSchemaInternal, Attrib
     public <T> AttributeMatchingStrategy<T> attribute(Attribute<T> attribute, Action<? super AttributeMatchingStrategy<T>> configureAction) {
         AttributeMatchingStrategy<T> strategy = Cast.uncheckedCast(strategies.get(attribute));
         if (strategy == null) {
-            strategy = Cast.uncheckedCast(instantiatorFactory.decorate().newInstance(DefaultAttributeMatchingStrategy.class, instantiatorFactory, isolatableFactory));
+            strategy = Cast.uncheckedCast(instantiatorFactory.decorate().newInstance(DefaultAttributeMatchingStrategy.class, instantiatorFactory, isolatableFactory, rulesVersion));
             strategies.put(attribute, strategy);
             attributesByName.put(attribute.getName(), attribute);
+            rulesVersion.increment();
         }
         if (configureAction != null) {
             configureAction.execute(strategy);
@@ -95,13 +105,18 @@ public class DefaultAttributesSchema implements AttributesSchemaInternal, Attrib
         return strategies.containsKey(key);
     }
 
-    AttributeSelectionSchema mergeWith(AttributesSchemaInternal producerSchema) {
+    MergedSchema mergeWith(AttributesSchemaInternal producerSchema) {
         return new MergedSchema(producerSchema);
     }
 
     @Override
     public AttributeMatcher withProducer(AttributesSchemaInternal producerSchema) {
-        return new DefaultAttributeMatcher(componentAttributeMatcher, mergeWith(producerSchema));
+        DefaultAttributeMatcher matcher = producerMatchers.get(producerSchema);
+        if (matcher == null) {
+            matcher = new DefaultAttributeMatcher(componentAttributeMatcher, mergeWith(producerSchema));
+            producerMatchers.put(producerSchema, matcher);
+        }
+        return matcher;
     }
 
     @Override
@@ -129,20 +144,23 @@ public class DefaultAttributesSchema implements AttributesSchemaInternal, Attrib
 
     private static class DefaultAttributeMatcher implements AttributeMatcher {
         private final ComponentAttributeMatcher componentAttributeMatcher;
-        private final AttributeSelectionSchema effectiveSchema;
+        private final MergedSchema effectiveSchema;
+        private final Cache<CandidateSetEntry, int[]> matchesCache = CacheBuilder.newBuilder().maximumSize(MAX_MATCHING_CACHE_SIZE).build();
 
-        DefaultAttributeMatcher(ComponentAttributeMatcher componentAttributeMatcher, AttributeSelectionSchema effectiveSchema) {
+        DefaultAttributeMatcher(ComponentAttributeMatcher componentAttributeMatcher, MergedSchema effectiveSchema) {
             this.componentAttributeMatcher = componentAttributeMatcher;
             this.effectiveSchema = effectiveSchema;
         }
 
         @Override
         public boolean isMatching(AttributeContainerInternal candidate, AttributeContainerInternal requested) {
+            effectiveSchema.discardCachesIfRulesChanged(matchesCache);
             return componentAttributeMatcher.isMatching(effectiveSchema, candidate, requested);
         }
 
         @Override
         public <T> boolean isMatching(Attribute<T> attribute, T candidate, T requested) {
+            effectiveSchema.discardCachesIfRulesChanged(matchesCache);
             return effectiveSchema.matchValue(attribute, requested, candidate);
         }
 
@@ -153,19 +171,80 @@ public class DefaultAttributesSchema implements AttributesSchemaInternal, Attrib
 
         @Override
         public <T extends HasAttributes> List<T> matches(Collection<? extends T> candidates, AttributeContainerInternal requested, @Nullable T fallback) {
-            return componentAttributeMatcher.match(effectiveSchema, candidates, requested, fallback);
+            effectiveSchema.discardCachesIfRulesChanged(matchesCache);
+            if (candidates.size() <= 1) {
+                // The matcher has a fast path for these, and the fallback is only used when there are no candidates
+                return componentAttributeMatcher.match(effectiveSchema, candidates, requested, fallback);
+            }
+
+            List<? extends T> candidateList = candidates instanceof List ? (List<? extends T>) candidates : ImmutableList.copyOf(candidates);
+            ImmutableAttributes[] candidateAttributeSets = new ImmutableAttributes[candidateList.size()];
+            for (int i = 0; i < candidateAttributeSets.length; i++) {
+                candidateAttributeSets[i] = ((AttributeContainerInternal) candidateList.get(i).getAttributes()).asImmutable();
+            }
+            CandidateSetEntry entry = new CandidateSetEntry(candidateAttributeSets, requested.asImmutable());
+            int[] matchingIndices = matchesCache.getIfPresent(entry);
+            if (matchingIndices == null) {
+                List<T> matches = componentAttributeMatcher.match(effectiveSchema, candidateList, requested, fallback);
+                matchingIndices = indicesOf(matches, candidateList);
+                matchesCache.put(entry, matchingIndices);
+            }
+            List<T> result = Lists.newArrayListWithCapacity(matchingIndices.length);
+            for (int index : matchingIndices) {
+                result.add(candidateList.get(index));
+            }
+            return result;
+        }
+
+        private static int[] indicesOf(List<?> matches, List<?> candidates) {
+            int[] indices = new int[matches.size()];
+            for (int i = 0; i < indices.length; i++) {
+                Object match = matches.get(i);
+                for (int j = 0; j < candidates.size(); j++) {
+                    if (candidates.get(j) == match) {
+                        indices[i] = j;
+                        break;
+                    }
+                }
+            }
+            return indices;
         }
 
         public List<MatchingDescription> describeMatching(AttributeContainerInternal candidate, AttributeContainerInternal requested) {
+            effectiveSchema.discardCachesIfRulesChanged(matchesCache);
             return componentAttributeMatcher.describeMatching(effectiveSchema, candidate, requested);
         }
     }
 
     private class MergedSchema implements AttributeSelectionSchema {
         private final AttributesSchemaInternal producerSchema;
+        private final Cache<CompatibilityCheckEntry, Boolean> compatibilityCache = CacheBuilder.newBuilder().maximumSize(MAX_MATCHING_CACHE_SIZE).build();
+        private volatile int cachedRulesVersion;
 
         MergedSchema(AttributesSchemaInternal producerSchema) {
             this.producerSchema = producerSchema;
+            this.cachedRulesVersion = currentRulesVersion();
+        }
+
+        private int currentRulesVersion() {
+            int version = rulesVersion.get();
+            if (producerSchema instanceof DefaultAttributesSchema) {
+                version += ((DefaultAttributesSchema) producerSchema).rulesVersion.get();
+            }
+            return version;
+        }
+
+        /**
+         * Discards the cached compatibility checks, and the given cached selection results, when a rule has been added to either schema since they were computed.
+         * Other producer schemas have fixed rules.
+         */
+        void discardCachesIfRulesChanged(Cache<?, ?> selectionCache) {
+            int version = currentRulesVersion();
+            if (version != cachedRulesVersion) {
+                compatibilityCache.invalidateAll();
+                selectionCache.invalidateAll();
+                cachedRulesVersion = version;
+            }
         }
 
         @Override
@@ -210,6 +289,16 @@ public class DefaultAttributesSchema implements AttributesSchemaInternal, Attrib
                 return true;
             }
 
+            CompatibilityCheckEntry entry = new CompatibilityCheckEntry(attribute, requested, candidate);
+            Boolean compatible = compatibilityCache.getIfPresent(entry);
+            if (compatible == null) {
+                compatible = checkCompatibility(attribute, requested, candidate);
+                compatibilityCache.put(entry, compatible);
+            }
+            return compatible;
+        }
+
+        private boolean checkCompatibility(Attribute<?> attribute, Object requested, Object candidate) {
             CompatibilityCheckResult<Object> result = null;
 
             CompatibilityRule<Object> rules = compatibilityRules(attribute);
@@ -267,6 +356,87 @@ public class DefaultAttributesSchema implements AttributesSchemaInternal, Attrib
 
     }
 
+    private static class CompatibilityCheckEntry {
+        private final Attribute<?> attribute;
+        private final Object requested;
+        private final Object candidate;
+        private final int hashCode;
+
+        private CompatibilityCheckEntry(Attribute<?> attribute, Object requested, Object candidate) {
+            this.attribute = attribute;
+            this.requested = requested;
+            this.candidate = candidate;
+            int hash = attribute.hashCode();
+            hash = 31 * hash + requested.hashCode();
+            hash = 31 * hash + candidate.hashCode();
+            this.hashCode = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            CompatibilityCheckEntry that = (CompatibilityCheckEntry) o;
+            return attribute.equals(that.attribute) && requested.equals(that.requested) && candidate.equals(that.candidate);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * A cache entry key for the result of selecting between a set of candidates. Uses _identity_ of the attribute sets, because we do interning.
+     */
+    private static class CandidateSetEntry {
+        private final ImmutableAttributes[] candidateAttributeSets;
+        private final ImmutableAttributes requestedAttributes;
+        private final int hashCode;
+
+        private CandidateSetEntry(ImmutableAttributes[] candidateAttributeSets, ImmutableAttributes requestedAttributes) {
+            this.candidateAttributeSets = candidateAttributeSets;
+            this.requestedAttributes = requestedAttributes;
+            int hash = Arrays.hashCode(candidateAttributeSets);
+            hash = 31 * hash + requestedAttributes.hashCode();
+            this.hashCode = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            CandidateSetEntry that = (CandidateSetEntry) o;
+            if (requestedAttributes != that.requestedAttributes) {
+                return false;
+            }
+            if (candidateAttributeSets.length != that.candidateAttributeSets.length) {
+                return false;
+            }
+            for (int i = 0; i < candidateAttributeSets.length; i++) {
+                if (candidateAttributeSets[i] != that.candidateAttributeSets[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     /**
      * A cache entry key, leveraging _identity_ as the key, because we do interning.
      * This is a performance optimization.
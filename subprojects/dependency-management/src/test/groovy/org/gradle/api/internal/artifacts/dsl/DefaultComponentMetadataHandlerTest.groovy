@@ -147,6 +147,21 @@ class DefaultComponentMetadataHandlerTest extends Specification {
         TestComponentMetadataRuleWithArgs.instanceCount == 0
     }
 
+    def "has rules once any rule has been added"() {
+        expect:
+        !handler.hasRules()
+        !mockedHandler.hasRules()
+
+        when:
+        handler.all(TestComponentMetadataRule)
+        mockedHandler.all { ComponentMetadataDetails cmd -> }
+
+        then:
+        1 * adapter.createFromClosure(ComponentMetadataDetails, _) >> ruleAction
+        handler.hasRules()
+        mockedHandler.hasRules()
+    }
+
     def "add action rule that applies to module" () {
         def action = new Action<ComponentMetadataDetails>() {
             @Override
@@ -41,6 +41,7 @@ import org.gradle.api.internal.attributes.AttributesSchemaInternal
 import org.gradle.api.internal.attributes.ImmutableAttributes
 import org.gradle.internal.action.InstantiatingAction
 import org.gradle.internal.component.external.model.ModuleComponentArtifactMetadata
+import org.gradle.internal.operations.TestBuildOperationExecutor
 import org.gradle.internal.reflect.Instantiator
 import org.gradle.internal.resolve.caching.ComponentMetadataSupplierRuleExecutor
 import org.gradle.internal.resource.ExternalResourceRepository
@@ -87,7 +88,7 @@ class ResolveIvyFactoryTest extends Specification {
         instantiatorFactory = Mock()
 
         resolveIvyFactory = new ResolveIvyFactory(cacheProvider, startParameterResolutionOverride, buildCommencedTimeProvider,
-            versionSelectorScheme, versionComparator, moduleIdentifierFactory, repositoryBlacklister, versionParser, instantiatorFactory)
+            versionSelectorScheme, versionComparator, moduleIdentifierFactory, repositoryBlacklister, versionParser, instantiatorFactory, new TestBuildOperationExecutor())
     }
 
     def "returns an empty resolver when no repositories are configured" () {
@@ -26,11 +26,17 @@ import org.gradle.api.internal.artifacts.ivyservice.IvyUtil
 import org.gradle.internal.component.external.model.DefaultModuleComponentIdentifier
 import org.gradle.internal.component.external.model.ModuleComponentResolveMetadata
 import org.gradle.internal.component.model.ComponentOverrideMetadata
+import org.gradle.internal.operations.TestBuildOperationExecutor
 import org.gradle.internal.resolve.ModuleVersionResolveException
 import org.gradle.internal.resolve.result.BuildableComponentResolveResult
+import org.gradle.util.SetSystemProperties
+import org.junit.Rule
 import spock.lang.Specification
 
 class ResolverProviderComponentMetaDataResolverTest extends Specification {
+    @Rule
+    SetSystemProperties systemProperties = new SetSystemProperties()
+
     final metaData = metaData("1.2")
     final moduleComponentId = DefaultModuleComponentIdentifier.newId(DefaultModuleIdentifier.newId("group", "project"), "1.0")
     final componentRequestMetaData = Mock(ComponentOverrideMetadata)
@@ -43,7 +49,8 @@ class ResolverProviderComponentMetaDataResolverTest extends Specification {
     def remoteAccess2 = Mock(ModuleComponentRepositoryAccess)
 
     final VersionedComponentChooser componentSelectionStrategy = Mock(VersionedComponentChooser)
-    final RepositoryChainComponentMetaDataResolver resolver = new RepositoryChainComponentMetaDataResolver(componentSelectionStrategy, transformer)
+    final buildOperationExecutor = new TestBuildOperationExecutor()
+    RepositoryChainComponentMetaDataResolver resolver = new RepositoryChainComponentMetaDataResolver(componentSelectionStrategy, transformer, buildOperationExecutor)
 
     ModuleVersionIdentifier moduleVersionIdentifier(ModuleDescriptor moduleDescriptor) {
         def moduleRevId = moduleDescriptor.moduleRevisionId
@@ -324,6 +331,169 @@ class ResolverProviderComponentMetaDataResolverTest extends Specification {
         0 * result._
     }
 
+    def "searches repositories remotely in parallel when enabled and uses the first repository that has the module"() {
+        given:
+        System.setProperty("org.gradle.resolution.parallelRepositorySearch", "true")
+        resolver = new RepositoryChainComponentMetaDataResolver(componentSelectionStrategy, transformer, buildOperationExecutor)
+        def repo1 = addRepo1()
+        def repo2 = addRepo2()
+        def otherMetaData = metaData("1.3")
+
+        when:
+        resolver.resolve(moduleComponentId, componentRequestMetaData, result)
+
+        then:
+        1 * localAccess.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _) >> { id, meta, result ->
+            result.missing()
+            result.authoritative = false
+        }
+        1 * localAccess2.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _) >> { id, meta, result ->
+            result.missing()
+            result.authoritative = false
+        }
+        1 * remoteAccess.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _) >> { id, meta, result ->
+            result.resolved(metaData)
+        }
+        1 * remoteAccess2.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _) >> { id, meta, result ->
+            result.resolved(otherMetaData)
+        }
+        1 * transformer.transform(_) >> { RepositoryChainModuleResolution it ->
+            assert it.module == metaData
+            assert it.repository == repo1
+            metaData
+        }
+        1 * result.resolved(_) >> { ModuleComponentResolveMetadata metaData ->
+            assert metaData == this.metaData
+        }
+        buildOperationExecutor.operations*.displayName == ["Search group:project:1.0 in repo1", "Search group:project:1.0 in repo2"]
+
+        and:
+        0 * localAccess._
+        0 * remoteAccess._
+        0 * localAccess2._
+        0 * remoteAccess2._
+        0 * result._
+    }
+
+    def "ignores failure to search repository remotely in parallel when available in another repository"() {
+        given:
+        System.setProperty("org.gradle.resolution.parallelRepositorySearch", "true")
+        resolver = new RepositoryChainComponentMetaDataResolver(componentSelectionStrategy, transformer, buildOperationExecutor)
+        def repo1 = addRepo1()
+        def repo2 = addRepo2()
+
+        when:
+        resolver.resolve(moduleComponentId, componentRequestMetaData, result)
+
+        then:
+        1 * localAccess.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _)
+        1 * localAccess2.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _)
+        1 * remoteAccess.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _) >> {
+            throw new RuntimeException("broken")
+        }
+        1 * remoteAccess2.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _) >> { id, meta, result ->
+            result.resolved(metaData)
+        }
+        1 * transformer.transform(_) >> { RepositoryChainModuleResolution it ->
+            assert it.module == metaData
+            assert it.repository == repo2
+            metaData
+        }
+        1 * result.resolved(_) >> { ModuleComponentResolveMetadata metaData ->
+            assert metaData == this.metaData
+        }
+
+        and:
+        0 * localAccess._
+        0 * remoteAccess._
+        0 * localAccess2._
+        0 * remoteAccess2._
+        0 * result._
+    }
+
+    def "rethrows failure to search repository remotely in parallel when not available in any repository"() {
+        given:
+        System.setProperty("org.gradle.resolution.parallelRepositorySearch", "true")
+        resolver = new RepositoryChainComponentMetaDataResolver(componentSelectionStrategy, transformer, buildOperationExecutor)
+        def failure = new RuntimeException("broken")
+        addRepo1()
+        addRepo2()
+
+        when:
+        resolver.resolve(moduleComponentId, componentRequestMetaData, result)
+
+        then:
+        1 * localAccess.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _)
+        1 * localAccess2.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _)
+        1 * remoteAccess.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _) >> {
+            throw failure
+        }
+        1 * remoteAccess2.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _) >> { id, meta, result ->
+            result.missing()
+        }
+        1 * result.failed({ it.cause.cause == failure })
+
+        and:
+        0 * result._
+    }
+
+    def "applies component selection rules on the resolving thread once repositories have been searched remotely in parallel"() {
+        given:
+        System.setProperty("org.gradle.resolution.parallelRepositorySearch", "true")
+        resolver = new RepositoryChainComponentMetaDataResolver(componentSelectionStrategy, transformer, buildOperationExecutor)
+        def resolvingThread = Thread.currentThread()
+        addRepo1()
+        addRepo2()
+
+        when:
+        resolver.resolve(moduleComponentId, componentRequestMetaData, result)
+
+        then:
+        1 * localAccess.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _)
+        1 * localAccess2.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _)
+        1 * remoteAccess.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _) >> { id, meta, result ->
+            result.resolved(metaData)
+        }
+        1 * remoteAccess2.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _) >> { id, meta, result ->
+            result.resolved(metaData)
+        }
+
+        then:
+        1 * componentSelectionStrategy.isRejectedComponent(moduleComponentId, _) >> {
+            assert Thread.currentThread() == resolvingThread
+            null
+        }
+        1 * transformer.transform(_) >> metaData
+        1 * result.resolved(_)
+        0 * componentSelectionStrategy._
+    }
+
+    def "searches repositories remotely on the resolving thread when parallel search is not allowed"() {
+        given:
+        System.setProperty("org.gradle.resolution.parallelRepositorySearch", "true")
+        resolver = new RepositoryChainComponentMetaDataResolver(componentSelectionStrategy, transformer, buildOperationExecutor, false)
+        def resolvingThread = Thread.currentThread()
+        addRepo1()
+        addRepo2()
+
+        when:
+        resolver.resolve(moduleComponentId, componentRequestMetaData, result)
+
+        then:
+        1 * localAccess.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _)
+        1 * localAccess2.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _)
+        1 * remoteAccess.resolveComponentMetaData(moduleComponentId, componentRequestMetaData, _) >> { id, meta, result ->
+            assert Thread.currentThread() == resolvingThread
+            result.resolved(metaData)
+        }
+        1 * transformer.transform(_) >> metaData
+        1 * result.resolved(_)
+        buildOperationExecutor.operations.empty
+
+        and:
+        0 * remoteAccess2._
+    }
+
     def "attempts to find remote dependency when local dependency is probably missing in all repositories"() {
         given:
         def repo1 = addRepo1()
@@ -290,6 +290,25 @@ class DefaultModuleExclusionTest extends Specification {
         !spec.excludeModule(moduleId("regexp", "module2"))
     }
 
+    def "does not accept module version that matches any of many group and module name exclude rules"() {
+        def rules = (1..100).collect { excludeGroupRule("group$it") } + (1..100).collect { excludeModuleRule("module$it") }
+        def spec = excludeAny(rules as Exclude[])
+
+        expect:
+        spec.excludeModule(moduleId("group12", "anything"))
+        spec.excludeModule(moduleId("anything", "module57"))
+        !spec.excludeModule(moduleId("group101", "module101"))
+        !spec.excludeModule(moduleId("module12", "group57"))
+    }
+
+    def "does not accept any module when combined with an exclude-all rule"() {
+        def spec = excludeAny(excludeRule("org", "module"), excludeRule("*", "*"), excludeArtifactRule("a", "jar", "jar"))
+
+        expect:
+        spec.excludeModule(moduleId("org", "module"))
+        spec.excludeModule(moduleId("other", "other"))
+    }
+
     def "specs with the same set of exclude rules accept the same modules as each other"() {
         def rule1 = excludeRule("org", "module")
         def rule2 = excludeRule("org", "module2")
@@ -16,6 +16,7 @@
 
 package org.gradle.api.internal.artifacts.ivyservice.resolveengine.result
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap
 import org.gradle.api.artifacts.component.ModuleComponentSelector
 import org.gradle.api.internal.artifacts.DefaultModuleIdentifier
 import org.gradle.api.internal.artifacts.dependencies.DefaultMutableVersionConstraint
@@ -50,7 +51,7 @@ class DependencyResultSerializerTest extends Specification {
         def encoder = new OutputStreamBackedEncoder(bytes)
         serializer.write(encoder, successful)
         encoder.flush()
-        def out = serializer.read(new InputStreamBackedDecoder(new ByteArrayInputStream(bytes.toByteArray())), [4L: requested], [:])
+        def out = serializer.read(new InputStreamBackedDecoder(new ByteArrayInputStream(bytes.toByteArray())), new Long2ObjectOpenHashMap([4L: requested]), [:])
 
         then:
         out.requested == requested
@@ -81,7 +82,7 @@ class DependencyResultSerializerTest extends Specification {
         Map<ModuleComponentSelector, ModuleVersionResolveException> map = new HashMap<>()
         map.put(requested, failure)
         serializer.reset()
-        def out = serializer.read(new InputStreamBackedDecoder(new ByteArrayInputStream(bytes.toByteArray())), [4L: requested], map)
+        def out = serializer.read(new InputStreamBackedDecoder(new ByteArrayInputStream(bytes.toByteArray())), new Long2ObjectOpenHashMap([4L: requested]), map)
 
         then:
         out.requested == requested
@@ -203,6 +203,65 @@ class DefaultAttributesSchemaTest extends Specification {
         !schema.matcher().isMatching(attr, "a", "b")
     }
 
+    static class CountingCompatibilityRule implements AttributeCompatibilityRule<String> {
+        static int count
+
+        @Override
+        void execute(CompatibilityCheckDetails<String> details) {
+            count++
+            details.compatible()
+        }
+    }
+
+    def "caches compatibility check results"() {
+        def attr = Attribute.of(String)
+
+        given:
+        CountingCompatibilityRule.count = 0
+        schema.attribute(attr).compatibilityRules.add(CountingCompatibilityRule)
+
+        expect:
+        schema.matcher().isMatching(attr, "a", "b")
+        schema.matcher().isMatching(attr, "a", "b")
+        schema.withProducer(EmptySchema.INSTANCE).isMatching(attr, "a", "b")
+        schema.withProducer(EmptySchema.INSTANCE).isMatching(attr, "a", "b")
+        CountingCompatibilityRule.count == 2
+    }
+
+    def "discards cached compatibility check results when rules are added"() {
+        def attr = Attribute.of(String)
+
+        given:
+        schema.attribute(attr)
+
+        expect:
+        !schema.matcher().isMatching(attr, "a", "b")
+
+        when:
+        schema.getMatchingStrategy(attr).compatibilityRules.add(CountingCompatibilityRule)
+
+        then:
+        schema.matcher().isMatching(attr, "a", "b")
+    }
+
+    def "discards cached compatibility check results when rules are added to the producer schema"() {
+        def producer = new DefaultAttributesSchema(new ComponentAttributeMatcher(), TestUtil.instantiatorFactory(), TestUtil.valueSnapshotter())
+        def attr = Attribute.of(String)
+
+        given:
+        schema.attribute(attr)
+        producer.attribute(attr)
+
+        expect:
+        !schema.withProducer(producer).isMatching(attr, "a", "b")
+
+        when:
+        producer.getMatchingStrategy(attr).compatibilityRules.add(CountingCompatibilityRule)
+
+        then:
+        schema.withProducer(producer).isMatching(attr, "a", "b")
+    }
+
     def "selects requested value when it is one of the candidate values and no rules defined"() {
         def attr = Attribute.of(String)
 
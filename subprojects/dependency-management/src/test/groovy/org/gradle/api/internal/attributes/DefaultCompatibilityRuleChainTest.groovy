@@ -25,7 +25,7 @@ import spock.lang.Specification
 import javax.inject.Inject
 
 class DefaultCompatibilityRuleChainTest extends Specification {
-    def ruleChain = new DefaultCompatibilityRuleChain(TestUtil.instantiatorFactory().inject(), TestUtil.valueSnapshotter())
+    def ruleChain = new DefaultCompatibilityRuleChain(TestUtil.instantiatorFactory().inject(), TestUtil.valueSnapshotter(), new AttributeMatchingRulesVersion())
 
     static class CompatibilityRule implements AttributeCompatibilityRule<String> {
         @Override
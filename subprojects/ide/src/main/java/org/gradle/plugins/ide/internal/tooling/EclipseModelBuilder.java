@@ -22,7 +22,6 @@ import org.apache.commons.lang.StringUtils;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
 import org.gradle.api.initialization.IncludedBuild;
-import org.gradle.api.specs.Spec;
 import org.gradle.internal.build.IncludedBuildState;
 import org.gradle.internal.service.ServiceRegistry;
 import org.gradle.plugins.ide.eclipse.EclipsePlugin;
@@ -57,7 +56,6 @@ import org.gradle.plugins.ide.internal.tooling.eclipse.DefaultEclipseTask;
 import org.gradle.plugins.ide.internal.tooling.java.DefaultInstalledJdk;
 import org.gradle.tooling.internal.gradle.DefaultGradleProject;
 import org.gradle.tooling.provider.model.ToolingModelBuilder;
-import org.gradle.util.CollectionUtils;
 import org.gradle.util.GUtil;
 
 import java.io.File;
@@ -72,9 +70,10 @@ public class EclipseModelBuilder implements ToolingModelBuilder {
 
     private boolean projectDependenciesOnly;
     private DefaultEclipseProject result;
-    private List<DefaultEclipseProject> eclipseProjects;
+    private Map<String, DefaultEclipseProject> eclipseProjectsByPath;
+    private Map<String, DefaultEclipseProject> eclipseProjectsByName;
     private TasksFactory tasksFactory;
-    private DefaultGradleProject<?> rootGradleProject;
+    private Map<String, DefaultGradleProject<?>> gradleProjectsByPath;
     private Project currentProject;
 
     public EclipseModelBuilder(GradleProjectBuilder gradleProjectBuilder, ServiceRegistry services) {
@@ -93,9 +92,10 @@ public class EclipseModelBuilder implements ToolingModelBuilder {
         tasksFactory = new TasksFactory(includeTasks);
         projectDependenciesOnly = modelName.equals("org.gradle.tooling.model.eclipse.HierarchicalEclipseProject");
         currentProject = project;
-        eclipseProjects = Lists.newArrayList();
+        eclipseProjectsByPath = Maps.newHashMap();
+        eclipseProjectsByName = Maps.newHashMap();
         Project root = project.getRootProject();
-        rootGradleProject = gradleProjectBuilder.buildAll(project);
+        gradleProjectsByPath = ToolingModelBuilderSupport.indexByPath(gradleProjectBuilder.buildAll(project));
         tasksFactory.collectTasks(root);
         applyEclipsePlugin(root);
         buildHierarchy(root);
@@ -126,7 +126,7 @@ public class EclipseModelBuilder implements ToolingModelBuilder {
         String description = GUtil.elvis(internalProject.getComment(), null);
         DefaultEclipseProject eclipseProject =
             new DefaultEclipseProject(name, project.getPath(), description, project.getProjectDir(), children)
-                .setGradleProject(rootGradleProject.findByPath(project.getPath()));
+                .setGradleProject(gradleProjectsByPath.get(project.getPath()));
 
         for (DefaultEclipseProject child : children) {
             child.setParent(eclipseProject);
@@ -139,7 +139,11 @@ public class EclipseModelBuilder implements ToolingModelBuilder {
         if (project == currentProject) {
             result = eclipseProject;
         }
-        eclipseProjects.add(eclipseProject);
+        eclipseProjectsByPath.put(project.getPath(), eclipseProject);
+        // Keep the first project with a given name, which is the one that a project dependency refers to
+        if (!eclipseProjectsByName.containsKey(eclipseProject.getName())) {
+            eclipseProjectsByName.put(eclipseProject.getName(), eclipseProject);
+        }
     }
 
     private void populate(Project project) {
@@ -246,22 +250,12 @@ public class EclipseModelBuilder implements ToolingModelBuilder {
         }
     }
 
-    private DefaultEclipseProject findEclipseProject(final Project project) {
-        return CollectionUtils.findFirst(eclipseProjects, new Spec<DefaultEclipseProject>() {
-            @Override
-            public boolean isSatisfiedBy(DefaultEclipseProject element) {
-                return element.getGradleProject().getPath().equals(project.getPath());
-            }
-        });
+    private DefaultEclipseProject findEclipseProject(Project project) {
+        return eclipseProjectsByPath.get(project.getPath());
     }
 
-    private DefaultEclipseProject findEclipseProjectByName(final String eclipseProjectName) {
-        return CollectionUtils.findFirst(eclipseProjects, new Spec<DefaultEclipseProject>() {
-            @Override
-            public boolean isSatisfiedBy(DefaultEclipseProject element) {
-                return element.getName().equals(eclipseProjectName);
-            }
-        });
+    private DefaultEclipseProject findEclipseProjectByName(String eclipseProjectName) {
+        return eclipseProjectsByName.get(eclipseProjectName);
     }
 
     private static List<DefaultClasspathAttribute> createAttributes(AbstractClasspathEntry classpathEntry) {
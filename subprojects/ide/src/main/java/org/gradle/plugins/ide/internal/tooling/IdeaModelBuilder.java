@@ -75,7 +75,7 @@ public class IdeaModelBuilder implements ToolingModelBuilder {
         Project root = project.getRootProject();
         applyIdeaPlugin(root);
         DefaultGradleProject<?> rootGradleProject = gradleProjectBuilder.buildAll(project);
-        return build(root, rootGradleProject);
+        return build(root, ToolingModelBuilderSupport.indexByPath(rootGradleProject));
     }
 
     private void applyIdeaPlugin(Project root) {
@@ -89,7 +89,7 @@ public class IdeaModelBuilder implements ToolingModelBuilder {
         }
     }
 
-    private DefaultIdeaProject build(Project project, DefaultGradleProject rootGradleProject) {
+    private DefaultIdeaProject build(Project project, Map<String, DefaultGradleProject<?>> gradleProjectsByPath) {
         IdeaModel ideaModel = ideaPluginFor(project).getModel();
         IdeaProject projectModel = ideaModel.getProject();
         JavaVersion projectSourceLanguageLevel = convertIdeaLanguageLevelToJavaVersion(projectModel.getLanguageLevel());
@@ -106,7 +106,7 @@ public class IdeaModelBuilder implements ToolingModelBuilder {
 
         Map<String, DefaultIdeaModule> modules = new LinkedHashMap<String, DefaultIdeaModule>();
         for (IdeaModule module : projectModel.getModules()) {
-            appendModule(modules, module, out, rootGradleProject);
+            appendModule(modules, module, out, gradleProjectsByPath);
         }
         for (IdeaModule module : projectModel.getModules()) {
             buildDependencies(modules, module);
@@ -155,7 +155,7 @@ public class IdeaModelBuilder implements ToolingModelBuilder {
         modules.get(ideaModule.getName()).setDependencies(dependencies);
     }
 
-    private void appendModule(Map<String, DefaultIdeaModule> modules, IdeaModule ideaModule, DefaultIdeaProject ideaProject, DefaultGradleProject rootGradleProject) {
+    private void appendModule(Map<String, DefaultIdeaModule> modules, IdeaModule ideaModule, DefaultIdeaProject ideaProject, Map<String, DefaultGradleProject<?>> gradleProjectsByPath) {
         DefaultIdeaContentRoot contentRoot = new DefaultIdeaContentRoot()
             .setRootDirectory(ideaModule.getContentRoot())
             .setSourceDirectories(srcDirs(ideaModule.getSourceDirs(), ideaModule.getGeneratedSourceDirs()))
@@ -169,7 +169,7 @@ public class IdeaModelBuilder implements ToolingModelBuilder {
         DefaultIdeaModule defaultIdeaModule = new DefaultIdeaModule()
             .setName(ideaModule.getName())
             .setParent(ideaProject)
-            .setGradleProject(rootGradleProject.findByPath(ideaModule.getProject().getPath()))
+            .setGradleProject(gradleProjectsByPath.get(ideaModule.getProject().getPath()))
             .setContentRoots(Collections.singletonList(contentRoot))
             .setJdkName(ideaModule.getJdkName())
             .setCompilerOutput(new DefaultIdeaCompilerOutput()
@@ -15,12 +15,16 @@
  */
 package org.gradle.plugins.ide.internal.tooling;
 
+import com.google.common.collect.Maps;
 import org.gradle.api.Project;
 import org.gradle.api.Task;
 import org.gradle.api.internal.tasks.PublicTaskSpecification;
 import org.gradle.plugins.ide.internal.tooling.model.LaunchableGradleTask;
+import org.gradle.tooling.internal.gradle.DefaultGradleProject;
 import org.gradle.tooling.internal.gradle.DefaultProjectIdentifier;
 
+import java.util.Map;
+
 abstract class ToolingModelBuilderSupport {
     public static <T extends LaunchableGradleTask> T buildFromTask(T target, Task task) {
         Project project = task.getProject();
@@ -33,4 +37,23 @@ abstract class ToolingModelBuilderSupport {
                 .setProjectIdentifier(new DefaultProjectIdentifier(project.getRootDir(), project.getPath()));
         return target;
     }
+
+    /**
+     * Indexes the given project hierarchy by project path, so that model builders do not need to search the hierarchy for each project.
+     */
+    public static Map<String, DefaultGradleProject<?>> indexByPath(DefaultGradleProject<?> rootProject) {
+        Map<String, DefaultGradleProject<?>> projectsByPath = Maps.newHashMap();
+        addToIndex(rootProject, projectsByPath);
+        return projectsByPath;
+    }
+
+    private static void addToIndex(DefaultGradleProject<?> project, Map<String, DefaultGradleProject<?>> projectsByPath) {
+        // Keep the first project found with a given path, as DefaultGradleProject.findByPath() does
+        if (!projectsByPath.containsKey(project.getPath())) {
+            projectsByPath.put(project.getPath(), project);
+        }
+        for (DefaultGradleProject<?> child : project.getChildren()) {
+            addToIndex(child, projectsByPath);
+        }
+    }
 }
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gradle.api.internal.tasks.compile;
+
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
+import org.gradle.internal.concurrent.CompositeStoppable;
+
+import javax.annotation.Nullable;
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Keeps idle javac file managers alive between compilations in the same process, so that the jars of an unchanged
+ * compile classpath do not need to be opened and indexed again for every compilation.
+ *
+ * A file manager is only reused for compilations with the same compiler options, as javac configures the locations of the file manager,
+ * such as the boot classpath, the annotation processor path and the generated sources directory, from the options and an option that is
+ * left out does not reset the location set by an earlier compilation.
+ *
+ * A file manager is handed out to a single compilation at a time. It is discarded when any file on the compile classpath
+ * has changed since it was last used, and the least recently used file managers are closed when more than the
+ * configured number are idle.
+ *
+ * File managers are not kept for a classpath that contains directories, as the length and timestamp of a directory do
+ * not change when a class file inside of it changes.
+ */
+class JavaFileManagerCache {
+    private static final int MAX_IDLE_FILE_MANAGERS = 4;
+    static final JavaFileManagerCache SHARED = new JavaFileManagerCache(MAX_IDLE_FILE_MANAGERS);
+
+    private final int maxIdleFileManagers;
+    private final LinkedHashMap<Key, CachedFileManager> idleFileManagers = new LinkedHashMap<Key, CachedFileManager>(16, 0.75f, true);
+
+    JavaFileManagerCache(int maxIdleFileManagers) {
+        this.maxIdleFileManagers = maxIdleFileManagers;
+    }
+
+    /**
+     * Returns a file manager for the given compiler, classpath and compiler options. The lease must be closed once the compilation has finished.
+     */
+    Lease lease(JavaCompiler compiler, @Nullable Charset charset, List<File> classpath, List<String> options) {
+        if (containsDirectory(classpath)) {
+            return new Lease(null, new CachedFileManager(compiler.getStandardFileManager(null, null, charset), ImmutableList.<ClasspathEntryState>of()));
+        }
+        Key key = new Key(compiler.getClass(), charset, classpath, options);
+        List<ClasspathEntryState> classpathState = ClasspathEntryState.of(classpath);
+        CachedFileManager cached;
+        synchronized (idleFileManagers) {
+            cached = idleFileManagers.remove(key);
+        }
+        if (cached != null && !cached.classpathState.equals(classpathState)) {
+            CompositeStoppable.stoppable(cached.fileManager).stop();
+            cached = null;
+        }
+        StandardJavaFileManager fileManager = cached != null ? cached.fileManager : compiler.getStandardFileManager(null, null, charset);
+        return new Lease(key, new CachedFileManager(fileManager, classpathState));
+    }
+
+    private static boolean containsDirectory(List<File> classpath) {
+        for (File file : classpath) {
+            if (file.isDirectory()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void release(Key key, CachedFileManager cachedFileManager) {
+        List<Closeable> discarded = new ArrayList<Closeable>();
+        synchronized (idleFileManagers) {
+            CachedFileManager replaced = idleFileManagers.put(key, cachedFileManager);
+            if (replaced != null) {
+                discarded.add(replaced.fileManager);
+            }
+            Iterator<CachedFileManager> iterator = idleFileManagers.values().iterator();
+            while (idleFileManagers.size() > maxIdleFileManagers) {
+                discarded.add(iterator.next().fileManager);
+                iterator.remove();
+            }
+        }
+        CompositeStoppable.stoppable(discarded).stop();
+    }
+
+    int getIdleFileManagerCount() {
+        synchronized (idleFileManagers) {
+            return idleFileManagers.size();
+        }
+    }
+
+    class Lease implements Closeable {
+        private final Key key;
+        private final CachedFileManager cachedFileManager;
+
+        private Lease(@Nullable Key key, CachedFileManager cachedFileManager) {
+            this.key = key;
+            this.cachedFileManager = cachedFileManager;
+        }
+
+        StandardJavaFileManager getFileManager() {
+            return cachedFileManager.fileManager;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (key == null) {
+                cachedFileManager.fileManager.close();
+                return;
+            }
+            try {
+                cachedFileManager.fileManager.flush();
+            } catch (IOException e) {
+                cachedFileManager.fileManager.close();
+                throw e;
+            }
+            release(key, cachedFileManager);
+        }
+    }
+
+    private static class CachedFileManager {
+        private final StandardJavaFileManager fileManager;
+        private final List<ClasspathEntryState> classpathState;
+
+        CachedFileManager(StandardJavaFileManager fileManager, List<ClasspathEntryState> classpathState) {
+            this.fileManager = fileManager;
+            this.classpathState = classpathState;
+        }
+    }
+
+    private static class Key {
+        private final Class<?> compilerType;
+        private final Charset charset;
+        private final List<File> classpath;
+        private final List<String> options;
+
+        Key(Class<?> compilerType, @Nullable Charset charset, List<File> classpath, List<String> options) {
+            this.compilerType = compilerType;
+            this.charset = charset;
+            this.classpath = ImmutableList.copyOf(classpath);
+            this.options = ImmutableList.copyOf(options);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key other = (Key) o;
+            return compilerType.equals(other.compilerType)
+                && Objects.equal(charset, other.charset)
+                && classpath.equals(other.classpath)
+                && options.equals(other.options);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(compilerType, charset, classpath, options);
+        }
+    }
+
+    private static class ClasspathEntryState {
+        private final long length;
+        private final long lastModified;
+
+        private ClasspathEntryState(long length, long lastModified) {
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+
+        static List<ClasspathEntryState> of(List<File> classpath) {
+            ImmutableList.Builder<ClasspathEntryState> builder = ImmutableList.builder();
+            for (File file : classpath) {
+                builder.add(new ClasspathEntryState(file.length(), file.lastModified()));
+            }
+            return builder.build();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            ClasspathEntryState other = (ClasspathEntryState) o;
+            return length == other.length && lastModified == other.lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (int) (length ^ (length >>> 32)) + (int) (lastModified ^ (lastModified >>> 32));
+        }
+    }
+}
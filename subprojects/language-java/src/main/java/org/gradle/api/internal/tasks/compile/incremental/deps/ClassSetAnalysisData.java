@@ -20,14 +20,17 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import it.unimi.dsi.fastutil.ints.IntSet;
 import it.unimi.dsi.fastutil.ints.IntSets;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import org.gradle.internal.serialize.AbstractSerializer;
 import org.gradle.internal.serialize.Decoder;
 import org.gradle.internal.serialize.Encoder;
 import org.gradle.internal.serialize.IntSetSerializer;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -87,29 +90,29 @@ public class ClassSetAnalysisData {
 
         @Override
         public ClassSetAnalysisData read(Decoder decoder) throws Exception {
-            // Class names are de-duplicated when encoded
-            Map<Integer, String> classNameMap = new HashMap<Integer, String>();
+            // Class names are de-duplicated when encoded, ids are assigned in the order the names are first written
+            List<String> classNames = new ArrayList<String>();
 
             int count = decoder.readSmallInt();
             ImmutableMap.Builder<String, String> filePathToClassNameBuilder = ImmutableMap.builder();
             for (int i = 0; i < count; i++) {
                 String filePath = decoder.readString();
-                String className = readClassName(decoder, classNameMap);
+                String className = readClassName(decoder, classNames);
                 filePathToClassNameBuilder.put(filePath, className);
             }
 
             count = decoder.readSmallInt();
             ImmutableMap.Builder<String, DependentsSet> dependentsBuilder = ImmutableMap.builder();
             for (int i = 0; i < count; i++) {
-                String className = readClassName(decoder, classNameMap);
-                DependentsSet dependents = readDependentsSet(decoder, classNameMap);
+                String className = readClassName(decoder, classNames);
+                DependentsSet dependents = readDependentsSet(decoder, classNames);
                 dependentsBuilder.put(className, dependents);
             }
 
             count = decoder.readSmallInt();
             ImmutableMap.Builder<String, IntSet> classesToConstantsBuilder = ImmutableMap.builder();
             for (int i = 0; i < count; i++) {
-                String className = readClassName(decoder, classNameMap);
+                String className = readClassName(decoder, classNames);
                 IntSet constants = IntSetSerializer.INSTANCE.read(decoder);
                 classesToConstantsBuilder.put(className, constants);
             }
@@ -117,18 +120,18 @@ public class ClassSetAnalysisData {
             count = decoder.readSmallInt();
             ImmutableMap.Builder<String, Set<String>> classNameToChildren = ImmutableMap.builder();
             for (int i = 0; i < count; i++) {
-                String parent = readClassName(decoder, classNameMap);
+                String parent = readClassName(decoder, classNames);
                 int nameCount = decoder.readSmallInt();
                 ImmutableSet.Builder<String> namesBuilder = ImmutableSet.builder();
                 for (int j = 0; j < nameCount; j++) {
-                    namesBuilder.add(readClassName(decoder, classNameMap));
+                    namesBuilder.add(readClassName(decoder, classNames));
                 }
                 classNameToChildren.put(parent, namesBuilder.build());
             }
 
-            DependentsSet aggregatedTypes = readDependentsSet(decoder, classNameMap);
+            DependentsSet aggregatedTypes = readDependentsSet(decoder, classNames);
 
-            DependentsSet dependentsOnAll = readDependentsSet(decoder, classNameMap);
+            DependentsSet dependentsOnAll = readDependentsSet(decoder, classNames);
 
             String fullRebuildCause = decoder.readNullableString();
 
@@ -138,8 +141,7 @@ public class ClassSetAnalysisData {
         @Override
         public void write(Encoder encoder, ClassSetAnalysisData value) throws Exception {
             // Deduplicate class names when encoding.
-            // This would be more efficient with a better data structure in ClassSetAnalysisData
-            Map<String, Integer> classNameMap = new HashMap<String, Integer>();
+            Object2IntMap<String> classNameMap = new Object2IntOpenHashMap<String>();
 
             encoder.writeSmallInt(value.filePathToClassName.size());
             for (Map.Entry<String, String> entry : value.filePathToClassName.entrySet()) {
@@ -175,7 +177,7 @@ public class ClassSetAnalysisData {
             encoder.writeNullableString(value.fullRebuildCause);
         }
 
-        private DependentsSet readDependentsSet(Decoder decoder, Map<Integer, String> classNameMap) throws IOException {
+        private DependentsSet readDependentsSet(Decoder decoder, List<String> classNames) throws IOException {
             byte b = decoder.readByte();
             if (b == 1) {
                 return DependentsSet.dependencyToAll(decoder.readNullableString());
@@ -183,12 +185,12 @@ public class ClassSetAnalysisData {
             int count = decoder.readSmallInt();
             ImmutableSet.Builder<String> builder = ImmutableSet.builder();
             for (int i = 0; i < count; i++) {
-                builder.add(readClassName(decoder, classNameMap));
+                builder.add(readClassName(decoder, classNames));
             }
             return DependentsSet.dependents(builder.build());
         }
 
-        private void writeDependentSet(DependentsSet dependentsSet, Map<String, Integer> classNameMap, Encoder encoder) throws IOException {
+        private void writeDependentSet(DependentsSet dependentsSet, Object2IntMap<String> classNameMap, Encoder encoder) throws IOException {
             if (dependentsSet.isDependencyToAll()) {
                 encoder.writeByte((byte) 1);
                 encoder.writeNullableString(dependentsSet.getDescription());
@@ -201,20 +203,23 @@ public class ClassSetAnalysisData {
             }
         }
 
-        private String readClassName(Decoder decoder, Map<Integer, String> classNameMap) throws IOException {
+        private String readClassName(Decoder decoder, List<String> classNames) throws IOException {
             int id = decoder.readSmallInt();
             if (id == 0) {
                 id = decoder.readSmallInt();
                 String className = decoder.readString();
-                classNameMap.put(id, className);
+                if (id != classNames.size() + 1) {
+                    throw new IllegalStateException("Unexpected class name id " + id + ", expected " + (classNames.size() + 1));
+                }
+                classNames.add(className);
                 return className;
             }
-            return classNameMap.get(id);
+            return classNames.get(id - 1);
         }
 
-        private void writeClassName(String className, Map<String, Integer> classIdMap, Encoder encoder) throws IOException {
-            Integer id = classIdMap.get(className);
-            if (id == null) {
+        private void writeClassName(String className, Object2IntMap<String> classIdMap, Encoder encoder) throws IOException {
+            int id = classIdMap.getInt(className);
+            if (id == 0) {
                 id = classIdMap.size() + 1;
                 classIdMap.put(className, id);
                 encoder.writeSmallInt(0);
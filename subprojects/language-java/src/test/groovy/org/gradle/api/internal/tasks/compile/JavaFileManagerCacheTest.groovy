@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.api.internal.tasks.compile
+
+import org.gradle.test.fixtures.file.TestNameTestDirectoryProvider
+import org.junit.Rule
+import spock.lang.Specification
+
+import javax.tools.JavaCompiler
+import javax.tools.StandardJavaFileManager
+import java.nio.charset.Charset
+
+class JavaFileManagerCacheTest extends Specification {
+    @Rule
+    TestNameTestDirectoryProvider tmpDir = new TestNameTestDirectoryProvider()
+
+    def compiler = Mock(JavaCompiler)
+    def cache = new JavaFileManagerCache(2)
+
+    def "reuses file manager for unchanged classpath"() {
+        def fileManager = Mock(StandardJavaFileManager)
+        def classpath = [tmpDir.createFile("lib.jar")]
+
+        when:
+        def lease = cache.lease(compiler, null, classpath, [])
+        lease.close()
+
+        then:
+        1 * compiler.getStandardFileManager(null, null, null) >> fileManager
+        1 * fileManager.flush()
+        0 * fileManager.close()
+
+        when:
+        def second = cache.lease(compiler, null, classpath, [])
+
+        then:
+        second.fileManager == fileManager
+        0 * compiler._
+    }
+
+    def "discards file manager when classpath entry has changed"() {
+        def fileManager = Mock(StandardJavaFileManager)
+        def newFileManager = Mock(StandardJavaFileManager)
+        def jar = tmpDir.createFile("lib.jar")
+
+        when:
+        cache.lease(compiler, null, [jar], []).close()
+        jar << "changed"
+        def lease = cache.lease(compiler, null, [jar], [])
+
+        then:
+        2 * compiler.getStandardFileManager(null, null, null) >>> [fileManager, newFileManager]
+        1 * fileManager.close()
+        lease.fileManager == newFileManager
+    }
+
+    def "does not keep file manager for classpath containing a directory"() {
+        def fileManager = Mock(StandardJavaFileManager)
+        def newFileManager = Mock(StandardJavaFileManager)
+        def classesDir = tmpDir.createDir("classes")
+        def classpath = [tmpDir.createFile("lib.jar"), classesDir]
+
+        when:
+        cache.lease(compiler, null, classpath, []).close()
+        classesDir.createFile("org/Thing.class") << "changed"
+        def lease = cache.lease(compiler, null, classpath, [])
+
+        then:
+        2 * compiler.getStandardFileManager(null, null, null) >>> [fileManager, newFileManager]
+        1 * fileManager.close()
+        lease.fileManager == newFileManager
+        cache.idleFileManagerCount == 0
+    }
+
+    def "does not share file managers between different classpaths or encodings"() {
+        def jar = tmpDir.createFile("lib.jar")
+        def other = tmpDir.createFile("other.jar")
+
+        when:
+        cache.lease(compiler, null, [jar], []).close()
+        cache.lease(compiler, null, [other], [])
+        cache.lease(compiler, Charset.forName("UTF-8"), [jar], [])
+
+        then:
+        3 * compiler.getStandardFileManager(_, _, _) >> Mock(StandardJavaFileManager)
+    }
+
+    def "does not share file managers between compilations with different options"() {
+        def fileManager = Mock(StandardJavaFileManager)
+        def newFileManager = Mock(StandardJavaFileManager)
+        def classpath = [tmpDir.createFile("lib.jar")]
+        def generatedSources = tmpDir.createDir("generated").absolutePath
+        def bootClasspath = tmpDir.createFile("rt.jar").absolutePath
+
+        when:
+        cache.lease(compiler, null, classpath, ["-s", generatedSources, "-bootclasspath", bootClasspath]).close()
+        def lease = cache.lease(compiler, null, classpath, ["-proc:none"])
+
+        then:
+        2 * compiler.getStandardFileManager(null, null, null) >>> [fileManager, newFileManager]
+        lease.fileManager == newFileManager
+
+        when:
+        lease.close()
+        def reused = cache.lease(compiler, null, classpath, ["-s", generatedSources, "-bootclasspath", bootClasspath])
+
+        then:
+        reused.fileManager == fileManager
+        0 * compiler._
+    }
+
+    def "closes least recently used idle file managers when over capacity"() {
+        def fileManagers = (1..3).collect { Mock(StandardJavaFileManager) }
+        compiler.getStandardFileManager(_, _, _) >>> fileManagers
+
+        when:
+        (1..3).each {
+            cache.lease(compiler, null, [tmpDir.createFile("lib${it}.jar")], []).close()
+        }
+
+        then:
+        1 * fileManagers[0].close()
+        0 * fileManagers[1].close()
+        0 * fileManagers[2].close()
+        cache.idleFileManagerCount == 2
+    }
+}
@@ -22,6 +22,7 @@ import org.gradle.util.CollectionUtils;
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryPoolMXBean;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -29,6 +30,9 @@ public class GarbageCollectionCheck implements Runnable {
     final Map<String, SlidingWindow<GarbageCollectionEvent>> events;
     final List<String> memoryPools;
     final String garbageCollector;
+    // The platform MXBeans do not change, so look them up on the first check only rather than once per poll
+    private GarbageCollectorMXBean garbageCollectorMXBean;
+    private List<MemoryPoolMXBean> memoryPoolMXBeans;
 
     public GarbageCollectionCheck(Map<String, SlidingWindow<GarbageCollectionEvent>> events, List<String> memoryPools, String garbageCollector) {
         this.events = events;
@@ -38,21 +42,25 @@ public class GarbageCollectionCheck implements Runnable {
 
     @Override
     public void run() {
-        List<GarbageCollectorMXBean> garbageCollectorMXBeans = ManagementFactory.getGarbageCollectorMXBeans();
-        GarbageCollectorMXBean garbageCollectorMXBean = CollectionUtils.findFirst(garbageCollectorMXBeans, new Spec<GarbageCollectorMXBean>() {
-            @Override
-            public boolean isSatisfiedBy(GarbageCollectorMXBean mbean) {
-                return mbean.getName().equals(garbageCollector);
+        if (memoryPoolMXBeans == null) {
+            garbageCollectorMXBean = CollectionUtils.findFirst(ManagementFactory.getGarbageCollectorMXBeans(), new Spec<GarbageCollectorMXBean>() {
+                @Override
+                public boolean isSatisfiedBy(GarbageCollectorMXBean mbean) {
+                    return mbean.getName().equals(garbageCollector);
+                }
+            });
+            List<MemoryPoolMXBean> monitoredPools = new ArrayList<MemoryPoolMXBean>();
+            for (MemoryPoolMXBean memoryPoolMXBean : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (memoryPools.contains(memoryPoolMXBean.getName())) {
+                    monitoredPools.add(memoryPoolMXBean);
+                }
             }
-        });
+            memoryPoolMXBeans = monitoredPools;
+        }
 
-        List<MemoryPoolMXBean> memoryPoolMXBeans = ManagementFactory.getMemoryPoolMXBeans();
         for (MemoryPoolMXBean memoryPoolMXBean : memoryPoolMXBeans) {
-            String pool = memoryPoolMXBean.getName();
-            if (memoryPools.contains(pool)) {
-                GarbageCollectionEvent event = new GarbageCollectionEvent(System.currentTimeMillis(), memoryPoolMXBean.getCollectionUsage(), garbageCollectorMXBean.getCollectionCount());
-                events.get(pool).slideAndInsert(event);
-            }
+            GarbageCollectionEvent event = new GarbageCollectionEvent(System.currentTimeMillis(), memoryPoolMXBean.getCollectionUsage(), garbageCollectorMXBean.getCollectionCount());
+            events.get(memoryPoolMXBean.getName()).slideAndInsert(event);
         }
     }
 }
@@ -22,10 +22,13 @@ import org.gradle.internal.serialize.TopLevelExceptionPlaceholder;
 import java.io.IOException;
 import java.io.ObjectStreamClass;
 import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
 
 class PayloadSerializerObjectOutputStream extends ExceptionReplacingObjectOutputStream {
     static final int SAME_CLASSLOADER_TOKEN = 0;
     private final SerializeMap map;
+    private final Map<String, String> strings = new HashMap<String, String>();
 
     public PayloadSerializerObjectOutputStream(OutputStream outputStream, SerializeMap map) throws IOException {
         super(outputStream);
@@ -37,6 +40,24 @@ class PayloadSerializerObjectOutputStream extends ExceptionReplacingObjectOutput
         return new PayloadSerializerObjectOutputStream(outputStream, map);
     }
 
+    /**
+     * Writes each distinct string value once, as models often contain many equal but not identical strings, such as paths, group names and versions.
+     * Later occurrences are written as references to the first.
+     */
+    @Override
+    protected Object doReplaceObject(Object obj) throws IOException {
+        if (obj instanceof String) {
+            String string = (String) obj;
+            String existing = strings.get(string);
+            if (existing == null) {
+                strings.put(string, string);
+                return string;
+            }
+            return existing;
+        }
+        return super.doReplaceObject(obj);
+    }
+
     @Override
     protected void writeClassDescriptor(ObjectStreamClass desc) throws IOException {
         Class<?> targetClass = desc.forClass();
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.launcher.daemon.server.health.gc
+
+import spock.lang.Specification
+
+import java.lang.management.ManagementFactory
+
+class GarbageCollectionCheckTest extends Specification {
+    def garbageCollector = ManagementFactory.garbageCollectorMXBeans.first().name
+    def pool = ManagementFactory.memoryPoolMXBeans.first().name
+    def window = new DefaultSlidingWindow<GarbageCollectionEvent>(20)
+
+    def "records an event for each monitored memory pool on each check"() {
+        def check = new GarbageCollectionCheck([(pool): window], [pool], garbageCollector)
+
+        when:
+        check.run()
+        check.run()
+
+        then:
+        window.snapshot().size() == 2
+    }
+
+    def "ignores memory pools that are not monitored"() {
+        def check = new GarbageCollectionCheck([(pool): window], ["unknown pool"], garbageCollector)
+
+        when:
+        check.run()
+
+        then:
+        window.snapshot().empty
+    }
+}
@@ -43,6 +43,21 @@ class PayloadSerializerTest extends AbstractClassGraphSpec {
         "some value" | _
     }
 
+    def "writes equal strings once"() {
+        def values = (1..100).collect { new String("some value") }
+        def distinctValues = (1..100).collect { "value $it".toString() }
+
+        when:
+        def serialized = originator.serialize(values)
+        def serializedDistinct = originator.serialize(distinctValues)
+        def received = receiver.deserialize(serialized)
+
+        then:
+        received == values
+        received.every { it.is(received[0]) }
+        serialized.serializedModel*.length.sum() < serializedDistinct.serializedModel*.length.sum()
+    }
+
     def "implementation classpath travels with object"() {
         def payloadClass = isolated(CustomPayload, PayloadInterface).loadClass(CustomPayload.name)
         def original = payloadClass.newInstance(value: 'value')
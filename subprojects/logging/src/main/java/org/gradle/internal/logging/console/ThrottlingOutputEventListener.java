@@ -31,6 +31,9 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * Queue output events to be forwarded and schedule flush when time passed or if end of build is signalled.
+ *
+ * <p>Producers only hold the queue lock long enough to append an event. Queued events are forwarded in batches while holding a separate render lock,
+ * so that producers are not blocked while the console is being rendered.</p>
  */
 public class ThrottlingOutputEventListener implements OutputEventListener {
     private final OutputEventListener listener;
@@ -38,11 +41,10 @@ public class ThrottlingOutputEventListener implements OutputEventListener {
     private final ScheduledExecutorService executor;
     private final Clock clock;
     private final int throttleMs;
-    private final Object lock = new Object();
+    private final Object queueLock = new Object();
+    private final Object renderLock = new Object();
 
-    private long currentTimePeriod;
-    private long lastUpdate;
-    private final List<OutputEvent> queue = new ArrayList<OutputEvent>();
+    private List<OutputEvent> queue = new ArrayList<OutputEvent>();
 
     public ThrottlingOutputEventListener(OutputEventListener listener, Clock clock) {
         this(listener, Integer.getInteger("org.gradle.internal.console.throttle", 100), Executors.newSingleThreadScheduledExecutor(), clock);
@@ -66,36 +68,44 @@ public class ThrottlingOutputEventListener implements OutputEventListener {
     }
 
     public void onOutput(OutputEvent newEvent) {
-        synchronized (lock) {
+        synchronized (queueLock) {
             queue.add(newEvent);
+        }
 
-            if (newEvent instanceof UpdateNowEvent) {
-                // Flush any buffered events and update the clock
-                currentTimePeriod = ((UpdateNowEvent) newEvent).getTimestamp();
-                renderNow();
-                return;
-            }
-
-            if (newEvent instanceof FlushOutputEvent) {
-                renderNow();
-                return;
-            }
+        if (newEvent instanceof UpdateNowEvent) {
+            // Flush any buffered events, including the update event
+            renderNow();
+            return;
+        }
 
-            if (newEvent instanceof EndOutputEvent) {
-                // Flush and clean up
-                renderNow();
-                executor.shutdown();
-            }
+        if (newEvent instanceof FlushOutputEvent) {
+            renderNow();
+            return;
+        }
 
-            // Else, wait for the next update event
+        if (newEvent instanceof EndOutputEvent) {
+            // Flush and clean up
+            renderNow();
+            executor.shutdown();
         }
+
+        // Else, wait for the next update event
     }
 
     private void renderNow() {
-        for (OutputEvent event : queue) {
-            listener.onOutput(event);
+        synchronized (renderLock) {
+            // Take the queued events while holding the render lock, so that batches are forwarded in the order they were queued
+            List<OutputEvent> batch;
+            synchronized (queueLock) {
+                if (queue.isEmpty()) {
+                    return;
+                }
+                batch = queue;
+                queue = new ArrayList<OutputEvent>();
+            }
+            for (OutputEvent event : batch) {
+                listener.onOutput(event);
+            }
         }
-        queue.clear();
-        lastUpdate = currentTimePeriod;
     }
 }
@@ -102,6 +102,34 @@ class ThrottlingOutputEventListenerTest extends OutputSpecification {
         0 * _
     }
 
+    def "does not block other threads queueing events while rendering"() {
+        def event1 = event('1')
+        def event2 = event('2')
+        def flush = new FlushOutputEvent()
+
+        when:
+        renderer.onOutput(event1)
+        renderer.onOutput(flush)
+
+        then:
+        1 * listener.onOutput(event1) >> {
+            def producer = new Thread({ renderer.onOutput(event2) } as Runnable)
+            producer.start()
+            producer.join(5000)
+            assert !producer.alive
+        }
+        1 * listener.onOutput(flush)
+        0 * _
+
+        when:
+        executor.runFixedScheduledActionsNow()
+
+        then:
+        1 * listener.onOutput(event2)
+        1 * listener.onOutput(_ as UpdateNowEvent)
+        0 * _
+    }
+
     def "background flush does nothing when events already flushed"() {
         def event1 = event('1')
         def event2 = event('2')
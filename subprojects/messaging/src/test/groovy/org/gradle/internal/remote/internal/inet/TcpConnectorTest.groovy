@@ -60,6 +60,22 @@ class TcpConnectorTest extends ConcurrentSpec {
         connection?.stop()
     }
 
+    def "disables Nagle's algorithm for connections"() {
+        Action action = Mock()
+
+        when:
+        def acceptor = incomingConnector.accept(action, false)
+        def connection = outgoingConnector.connect(acceptor.address).create(serializer)
+
+        then:
+        connection instanceof SocketConnection
+        connection.socket.socket().tcpNoDelay
+
+        cleanup:
+        acceptor?.stop()
+        connection?.stop()
+    }
+
     def "client can connect to server using remote addresses"() {
         Action action = Mock()
 
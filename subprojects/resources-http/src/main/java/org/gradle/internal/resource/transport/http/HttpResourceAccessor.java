@@ -77,7 +77,7 @@ public class HttpResourceAccessor implements ExternalResourceAccessor {
     }
 
     private HttpResponseResource wrapResponse(URI uri, CloseableHttpResponse response) {
-        return new HttpResponseResource("GET", uri, response);
+        return new HttpResponseResource("GET", uri, response, http);
     }
 
 }
@@ -19,6 +19,7 @@ import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpHeaders;
 import org.apache.http.HttpResponse;
+import org.apache.http.client.entity.DecompressingEntity;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.utils.DateUtils;
 import org.apache.http.client.utils.HttpClientUtils;
@@ -29,6 +30,7 @@ import org.gradle.internal.resource.transfer.ExternalResourceReadResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
@@ -40,12 +42,21 @@ public class HttpResponseResource implements ExternalResourceReadResponse {
     private final URI source;
     private final CloseableHttpResponse response;
     private final ExternalResourceMetaData metaData;
+    private final HttpClientHelper http;
     private boolean wasOpened;
 
     public HttpResponseResource(String method, URI source, CloseableHttpResponse response) {
+        this(method, source, response, null);
+    }
+
+    /**
+     * @param http When not null, used to resume reading the content of the response when the connection fails.
+     */
+    public HttpResponseResource(String method, URI source, CloseableHttpResponse response, @Nullable HttpClientHelper http) {
         this.method = method;
         this.source = source;
         this.response = response;
+        this.http = http;
 
         String etag = getEtag(response);
         this.metaData = new DefaultExternalResourceMetaData(source, getLastModified(), getContentLength(), getContentType(), etag, getSha1(response, etag));
@@ -122,9 +133,38 @@ public class HttpResponseResource implements ExternalResourceReadResponse {
         if (entity == null) {
             throw new IOException(String.format("Response %d: %s has no content!", getStatusCode(), response.getStatusLine().getReasonPhrase()));
         }
+        if (http != null) {
+            return new ResumableHttpInputStream(http, source, getRangeValidator(entity), entity.getContent());
+        }
         return entity.getContent();
     }
 
+    /**
+     * Returns the value that identifies the version of this resource in a later range request, if any. Weak entity tags cannot be used for this.
+     *
+     * Content with a content encoding cannot be resumed, as the range of a later request addresses the encoded content whereas the stream counts the decoded bytes.
+     */
+    @Nullable
+    private String getRangeValidator(HttpEntity entity) {
+        if (hasContentEncoding(entity)) {
+            return null;
+        }
+        String etag = metaData.getEtag();
+        if (etag != null && !etag.startsWith("W/")) {
+            return etag;
+        }
+        return getHeaderValue(HttpHeaders.LAST_MODIFIED);
+    }
+
+    private boolean hasContentEncoding(HttpEntity entity) {
+        // HttpClient removes the Content-Encoding header when it decompresses the content
+        if (entity instanceof DecompressingEntity) {
+            return true;
+        }
+        String encoding = getHeaderValue(HttpHeaders.CONTENT_ENCODING);
+        return encoding != null && !encoding.trim().equalsIgnoreCase("identity");
+    }
+
     @Override
     public void close() throws IOException {
         HttpClientUtils.closeQuietly(response);
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.resource.transport.http;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.entity.DecompressingEntity;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.utils.HttpClientUtils;
+import org.gradle.internal.IoActions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+
+/**
+ * Reads the body of an HTTP response. When the connection fails part way through, the download is continued from the last received byte
+ * using a range request, provided the server still serves the same version of the resource. Otherwise, the original failure is rethrown.
+ *
+ * The download is not resumed when the thread has been interrupted, for example because the build has been cancelled.
+ * The range request asks for the content without any encoding, and the download is not resumed when the server encodes the content anyway.
+ */
+class ResumableHttpInputStream extends InputStream {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResumableHttpInputStream.class);
+    static final int MAX_RESUME_ATTEMPTS = 3;
+
+    private final HttpClientHelper http;
+    private final URI source;
+    private final String validator;
+    private InputStream delegate;
+    private CloseableHttpResponse resumedResponse;
+    private long position;
+    private int resumeAttempts;
+
+    /**
+     * @param validator The value to send as the If-Range header, i.e. the ETag or Last-Modified date of the initial response. The stream is not resumed when null.
+     */
+    ResumableHttpInputStream(HttpClientHelper http, URI source, @Nullable String validator, InputStream delegate) {
+        this.http = http;
+        this.source = source;
+        this.validator = validator;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public int read() throws IOException {
+        while (true) {
+            try {
+                int value = delegate.read();
+                if (value >= 0) {
+                    position++;
+                }
+                return value;
+            } catch (IOException e) {
+                resume(e);
+            }
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        while (true) {
+            try {
+                int count = delegate.read(b, off, len);
+                if (count > 0) {
+                    position += count;
+                }
+                return count;
+            } catch (IOException e) {
+                resume(e);
+            }
+        }
+    }
+
+    @Override
+    public int available() throws IOException {
+        return delegate.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            delegate.close();
+        } finally {
+            if (resumedResponse != null) {
+                HttpClientUtils.closeQuietly(resumedResponse);
+            }
+        }
+    }
+
+    private void resume(IOException failure) throws IOException {
+        if (validator == null || resumeAttempts >= MAX_RESUME_ATTEMPTS || isInterruption(failure)) {
+            throw failure;
+        }
+        resumeAttempts++;
+        LOGGER.info("Download of {} failed after {} bytes, resuming (attempt {} of {}).", source, position, resumeAttempts, MAX_RESUME_ATTEMPTS);
+
+        IoActions.closeQuietly(delegate);
+        if (resumedResponse != null) {
+            HttpClientUtils.closeQuietly(resumedResponse);
+            resumedResponse = null;
+        }
+
+        HttpGet request = new HttpGet(source);
+        request.addHeader(HttpHeaders.RANGE, "bytes=" + position + "-");
+        request.addHeader(HttpHeaders.IF_RANGE, validator);
+        // The range refers to the bytes of the encoded content, so only ask for the content as it was received initially
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "identity");
+        CloseableHttpResponse response;
+        try {
+            response = http.performHttpRequest(request);
+        } catch (IOException e) {
+            LOGGER.debug("Could not resume download of {}.", source, e);
+            throw failure;
+        }
+
+        // The server sends the complete resource with a 200 status when it has changed or does not support ranges
+        HttpEntity entity = response.getEntity();
+        if (response.getStatusLine().getStatusCode() != HttpStatus.SC_PARTIAL_CONTENT || entity == null || !startsAtPosition(response) || hasContentEncoding(response, entity)) {
+            LOGGER.info("Could not resume download of {}: server responded with {}.", source, response.getStatusLine());
+            HttpClientUtils.closeQuietly(response);
+            throw failure;
+        }
+        resumedResponse = response;
+        delegate = entity.getContent();
+    }
+
+    private static boolean isInterruption(IOException failure) {
+        // A read timeout is also an InterruptedIOException, but is worth resuming from
+        if (failure instanceof SocketTimeoutException) {
+            return Thread.currentThread().isInterrupted();
+        }
+        return failure instanceof InterruptedIOException || Thread.currentThread().isInterrupted();
+    }
+
+    private static boolean hasContentEncoding(CloseableHttpResponse response, HttpEntity entity) {
+        // HttpClient removes the Content-Encoding header when it decompresses the content
+        if (entity instanceof DecompressingEntity) {
+            return true;
+        }
+        Header encoding = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+        return encoding != null && !encoding.getValue().trim().equalsIgnoreCase("identity");
+    }
+
+    private boolean startsAtPosition(CloseableHttpResponse response) {
+        // Content-Range: bytes <first>-<last>/<length>
+        Header contentRange = response.getFirstHeader(HttpHeaders.CONTENT_RANGE);
+        return contentRange != null && contentRange.getValue().trim().startsWith("bytes " + position + "-");
+    }
+}
@@ -19,6 +19,7 @@ package org.gradle.internal.resource.transport.http
 import org.apache.http.Header
 import org.apache.http.HttpEntity
 import org.apache.http.HttpHeaders
+import org.apache.http.client.entity.GzipDecompressingEntity
 import org.apache.http.client.methods.CloseableHttpResponse
 import org.apache.http.message.BasicHeader
 
@@ -54,6 +55,58 @@ class HttpResponseResourceTest extends AbstractHttpClientTest {
         ex.message == "Unable to open Stream as it was opened before."
     }
 
+    def "resumes reading content when connection fails"() {
+        given:
+        def http = Mock(HttpClientHelper)
+        response.getFirstHeader(HttpHeaders.ETAG) >> header(HttpHeaders.ETAG, '"abc"')
+        response.entity >> Mock(HttpEntity) {
+            getContent() >> failingStream()
+        }
+
+        when:
+        new HttpResponseResource(method, sourceUrl, response, http).openStream().text
+
+        then:
+        1 * http.performHttpRequest(_) >> { throw new IOException("unavailable") }
+        def e = thrown(IOException)
+        e.message == "broken"
+    }
+
+    def "does not resume reading content that has a content encoding"() {
+        given:
+        def http = Mock(HttpClientHelper)
+        response.getFirstHeader(HttpHeaders.ETAG) >> header(HttpHeaders.ETAG, '"abc"')
+        response.getFirstHeader(HttpHeaders.CONTENT_ENCODING) >> header(HttpHeaders.CONTENT_ENCODING, "gzip")
+        response.entity >> Mock(HttpEntity) {
+            getContent() >> failingStream()
+        }
+
+        when:
+        new HttpResponseResource(method, sourceUrl, response, http).openStream().text
+
+        then:
+        def e = thrown(IOException)
+        e.message == "broken"
+        0 * http._
+    }
+
+    def "does not resume reading content that has been decompressed"() {
+        given:
+        def http = Mock(HttpClientHelper)
+        response.getFirstHeader(HttpHeaders.ETAG) >> header(HttpHeaders.ETAG, '"abc"')
+        response.entity >> new GzipDecompressingEntity(Mock(HttpEntity) {
+            getContent() >> failingStream()
+        })
+
+        when:
+        new HttpResponseResource(method, sourceUrl, response, http).openStream().text
+
+        then:
+        def e = thrown(IOException)
+        e.message == "broken"
+        0 * http._
+    }
+
     def "provides access to arbitrary headers"() {
         given:
         addHeader(name, value)
@@ -97,4 +150,13 @@ class HttpResponseResourceTest extends AbstractHttpClientTest {
     Header header(String name, String value) {
         new BasicHeader(name, value)
     }
+
+    InputStream failingStream() {
+        return new InputStream() {
+            @Override
+            int read() throws IOException {
+                throw new IOException("broken")
+            }
+        }
+    }
 }
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.gradle.internal.resource.transport.http
+
+import org.apache.http.HttpEntity
+import org.apache.http.HttpHeaders
+import org.apache.http.ProtocolVersion
+import org.apache.http.client.methods.CloseableHttpResponse
+import org.apache.http.client.methods.HttpGet
+import org.apache.http.message.BasicHeader
+import org.apache.http.message.BasicStatusLine
+import spock.lang.Specification
+
+class ResumableHttpInputStreamTest extends Specification {
+    def uri = new URI("http://somewhere/file.jar")
+    def http = Mock(HttpClientHelper)
+
+    def "reads content without additional requests when connection does not fail"() {
+        def stream = new ResumableHttpInputStream(http, uri, "\"etag\"", new ByteArrayInputStream("content".bytes))
+
+        expect:
+        stream.text == "content"
+
+        and:
+        0 * http._
+    }
+
+    def "resumes from the last received byte when connection fails"() {
+        def stream = new ResumableHttpInputStream(http, uri, "\"etag\"", failingAfter("cont"))
+        def resumed = response(206, "bytes 4-6/7", "ent")
+        HttpGet request = null
+
+        when:
+        def text = stream.text // closes the stream
+
+        then:
+        1 * http.performHttpRequest(_) >> { HttpGet r -> request = r; resumed }
+        text == "content"
+        request.getFirstHeader(HttpHeaders.RANGE).value == "bytes=4-"
+        request.getFirstHeader(HttpHeaders.IF_RANGE).value == "\"etag\""
+        request.getFirstHeader(HttpHeaders.ACCEPT_ENCODING).value == "identity"
+
+        and:
+        1 * resumed.close()
+    }
+
+    def "rethrows original failure when resource has changed"() {
+        def stream = new ResumableHttpInputStream(http, uri, "\"etag\"", failingAfter("cont"))
+        def full = response(200, null, "changed content")
+
+        when:
+        stream.text
+
+        then:
+        1 * http.performHttpRequest(_) >> full
+        1 * full.close()
+        def e = thrown(IOException)
+        e.message == "broken"
+    }
+
+    def "rethrows original failure when resumed content is encoded"() {
+        def stream = new ResumableHttpInputStream(http, uri, "\"etag\"", failingAfter("cont"))
+        def encoded = response(206, "bytes 4-6/7", "ent", new ByteArrayInputStream("ent".bytes), "gzip")
+
+        when:
+        stream.text
+
+        then:
+        1 * http.performHttpRequest(_) >> encoded
+        1 * encoded.close()
+        def e = thrown(IOException)
+        e.message == "broken"
+    }
+
+    def "rethrows original failure when resource has no validator"() {
+        def stream = new ResumableHttpInputStream(http, uri, null, failingAfter("cont"))
+
+        when:
+        stream.text
+
+        then:
+        0 * http._
+        def e = thrown(IOException)
+        e.message == "broken"
+    }
+
+    def "resumes when reading times out"() {
+        def stream = new ResumableHttpInputStream(http, uri, "\"etag\"", failingAfter("cont", new SocketTimeoutException("timeout")))
+
+        when:
+        def text = stream.text
+
+        then:
+        1 * http.performHttpRequest(_) >> response(206, "bytes 4-6/7", "ent")
+        text == "content"
+    }
+
+    def "rethrows original failure when reading is interrupted"() {
+        def stream = new ResumableHttpInputStream(http, uri, "\"etag\"", failingAfter("cont", new InterruptedIOException("interrupted")))
+
+        when:
+        stream.text
+
+        then:
+        0 * http._
+        def e = thrown(InterruptedIOException)
+        e.message == "interrupted"
+    }
+
+    def "rethrows original failure when thread is interrupted"() {
+        def stream = new ResumableHttpInputStream(http, uri, "\"etag\"", failingAfter("cont"))
+
+        when:
+        Thread.currentThread().interrupt()
+        stream.text
+
+        then:
+        0 * http._
+        def e = thrown(IOException)
+        e.message == "broken"
+
+        cleanup:
+        Thread.interrupted()
+    }
+
+    def "gives up after too many attempts"() {
+        def stream = new ResumableHttpInputStream(http, uri, "\"etag\"", failingAfter("c"))
+
+        when:
+        stream.text
+
+        then:
+        ResumableHttpInputStream.MAX_RESUME_ATTEMPTS * http.performHttpRequest(_) >> { response(206, "bytes 1-6/7", null, failingAfter("")) }
+        def e = thrown(IOException)
+        e.message == "broken"
+    }
+
+    private InputStream failingAfter(String content, IOException failure = new IOException("broken")) {
+        def bytes = new ByteArrayInputStream(content.bytes)
+        return new InputStream() {
+            @Override
+            int read() throws IOException {
+                def value = bytes.read()
+                if (value < 0) {
+                    throw failure
+                }
+                return value
+            }
+        }
+    }
+
+    private CloseableHttpResponse response(int status, String contentRange, String content, InputStream stream = new ByteArrayInputStream(content.bytes), String contentEncoding = null) {
+        def entity = Mock(HttpEntity) {
+            getContent() >> stream
+        }
+        def response = Mock(CloseableHttpResponse) {
+            getStatusLine() >> new BasicStatusLine(new ProtocolVersion("HTTP", 1, 1), status, "")
+            getFirstHeader(HttpHeaders.CONTENT_RANGE) >> (contentRange == null ? null : new BasicHeader(HttpHeaders.CONTENT_RANGE, contentRange))
+            getFirstHeader(HttpHeaders.CONTENT_ENCODING) >> (contentEncoding == null ? null : new BasicHeader(HttpHeaders.CONTENT_ENCODING, contentEncoding))
+            getEntity() >> entity
+        }
+        return response
+    }
+}
@@ -90,7 +90,6 @@ public class ClassFileExtractionManager {
     private boolean extractClassFile(final String className) {
         boolean classFileExtracted = false;
 
-        final File extractedClassFile = tempFile();
         final String classFileName = new StrBuilder().append(className).append(".class").toString();
         final String classNamePackage = classNamePackage(className);
         final Set<File> packageJarFiles = packageJarFilesMappings.get(classNamePackage);
@@ -98,6 +97,8 @@ public class ClassFileExtractionManager {
         File classFileSourceJar = null;
 
         if (packageJarFiles != null && !packageJarFiles.isEmpty()) {
+            // Only create the temporary file when the class may be found, most unresolvable super classes live in packages of the JDK
+            final File extractedClassFile = tempFile();
             final Iterator<File> packageJarFilesIt = packageJarFiles.iterator();
 
             while (!classFileExtracted && packageJarFilesIt.hasNext()) {